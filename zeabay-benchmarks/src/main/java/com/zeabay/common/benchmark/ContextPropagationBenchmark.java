@@ -0,0 +1,116 @@
+package com.zeabay.common.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import com.zeabay.common.autoconfigure.ZeabayTraceIdAutoConfiguration;
+import com.zeabay.common.autoconfigure.ZeabayTraceIdAutoConfiguration.HookReleaser;
+import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.context.RequestMetadata;
+import com.zeabay.common.web.ZeabayWebFluxProperties.ContextPropagation;
+import com.zeabay.common.web.context.RequestMetadataAccessor;
+
+import io.micrometer.context.ContextRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+/**
+ * Compares the two {@code zeabay.webflux.context-propagation} modes on a request-shaped pipeline:
+ * {@value #ELEMENTS} elements through a few operators, with a {@code handle} step reading the MDC
+ * as a log statement would. {@code sameThread} stays on the caller; {@code threadHop} adds a
+ * {@code publishOn}, the case automatic propagation restores MDC for.
+ *
+ * <pre>
+ * java -jar zeabay-benchmarks/target/benchmarks.jar ContextPropagationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextPropagationBenchmark {
+
+  private static final int ELEMENTS = 100;
+
+  @Param({"HOOK", "AUTOMATIC"})
+  public ContextPropagation mode;
+
+  private HookReleaser releaser;
+  private Context context;
+
+  @Setup
+  public void setUp() {
+    RequestMetadata metadata =
+        new RequestMetadata("4bf92f3577b34da6a3ce929d0e0e4736", "10.0.0.1", "user", "GET", "/x");
+    if (mode == ContextPropagation.HOOK) {
+      releaser = new ZeabayTraceIdAutoConfiguration().reactorMdcTraceIdHook();
+      context =
+          Context.of(
+              ZeabayConstants.TRACE_ID_CTX_KEY,
+              metadata.traceId(),
+              ZeabayConstants.IP_CTX_KEY,
+              metadata.ip(),
+              ZeabayConstants.USER_CTX_KEY,
+              metadata.user(),
+              ZeabayConstants.METHOD_CTX_KEY,
+              metadata.method(),
+              ZeabayConstants.PATH_CTX_KEY,
+              metadata.path());
+    } else {
+      ContextRegistry.getInstance().registerThreadLocalAccessor(new RequestMetadataAccessor());
+      Hooks.enableAutomaticContextPropagation();
+      releaser =
+          () -> {
+            Hooks.disableAutomaticContextPropagation();
+            ContextRegistry.getInstance().removeThreadLocalAccessor(RequestMetadata.CTX_KEY);
+          };
+      context = Context.of(RequestMetadata.CTX_KEY, metadata);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    releaser.close();
+  }
+
+  @Benchmark
+  public Integer sameThread() {
+    return pipeline(Flux.range(0, ELEMENTS)).blockLast();
+  }
+
+  @Benchmark
+  public Integer threadHop() {
+    return pipeline(Flux.range(0, ELEMENTS).publishOn(Schedulers.parallel())).blockLast();
+  }
+
+  private Flux<Integer> pipeline(Flux<Integer> source) {
+    return source
+        .map(i -> i + 1)
+        .filter(i -> i % 7 != 0)
+        .map(i -> i * 2)
+        .<Integer>handle(
+            (i, sink) -> {
+              if (MDC.get(ZeabayConstants.TRACE_ID_CTX_KEY) != null) {
+                sink.next(i);
+              }
+            })
+        .contextWrite(context);
+  }
+}
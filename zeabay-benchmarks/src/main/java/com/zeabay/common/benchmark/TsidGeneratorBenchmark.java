@@ -0,0 +1,97 @@
+package com.zeabay.common.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.f4b6a3.tsid.TsidFactory;
+
+import com.zeabay.common.tsid.TsidGenerator;
+
+/**
+ * Compares {@link TsidGenerator} with the {@link TsidFactory} path it replaced, on one thread and
+ * on all available processors. Both sides share one instance per benchmark, as the application
+ * shares the {@code TsidGenerator} bean.
+ *
+ * <pre>
+ * java -jar zeabay-benchmarks/target/benchmarks.jar TsidGeneratorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TsidGeneratorBenchmark {
+
+  private static final int NODE_ID = 1;
+
+  private TsidGenerator generator;
+  private TsidFactory factory;
+
+  @Setup
+  public void setUp() {
+    generator = new TsidGenerator(NODE_ID);
+    factory = TsidFactory.builder().withNode(NODE_ID).build();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long generatorLong() {
+    return generator.newLongId();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long factoryLong() {
+    return factory.create().toLong();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String generatorString() {
+    return generator.newId();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String factoryString() {
+    return factory.create().toString().toLowerCase(Locale.ROOT);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public long generatorLongContended() {
+    return generator.newLongId();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public long factoryLongContended() {
+    return factory.create().toLong();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String generatorStringContended() {
+    return generator.newId();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String factoryStringContended() {
+    return factory.create().toString().toLowerCase(Locale.ROOT);
+  }
+}
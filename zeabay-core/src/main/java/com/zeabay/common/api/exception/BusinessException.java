@@ -2,9 +2,20 @@ package com.zeabay.common.api.exception;
 
 import lombok.Getter;
 
-/** Base exception for all domain and business rule violations across the platform. */
+/**
+ * Base exception for all domain and business rule violations across the platform.
+ *
+ * <p>Business errors are expected outcomes (wrong password, duplicate user) and can be frequent, so
+ * no stack trace is captured by default: the error code identifies the failure. Start the JVM with
+ * {@code -Dzeabay.business-exception.stack-trace=true} to capture them while debugging. A cause
+ * passed to the constructor keeps its own stack trace either way.
+ */
 @Getter
 public class BusinessException extends RuntimeException {
+
+  private static final boolean STACK_TRACE =
+      Boolean.getBoolean("zeabay.business-exception.stack-trace");
+
   private final ErrorCode errorCode;
 
   /**
@@ -12,7 +23,16 @@ public class BusinessException extends RuntimeException {
    * @param message a human-readable detail message
    */
   public BusinessException(ErrorCode errorCode, String message) {
-    super(message);
+    this(errorCode, message, null);
+  }
+
+  /**
+   * @param errorCode the standardized error code
+   * @param message a human-readable detail message
+   * @param cause the underlying failure
+   */
+  public BusinessException(ErrorCode errorCode, String message, Throwable cause) {
+    super(message, cause, true, STACK_TRACE);
     this.errorCode = errorCode;
   }
 
@@ -22,7 +42,6 @@ public class BusinessException extends RuntimeException {
    * @param errorCode the standardized error code
    */
   public BusinessException(ErrorCode errorCode) {
-    super(errorCode.getDefaultMessage());
-    this.errorCode = errorCode;
+    this(errorCode, errorCode.getDefaultMessage(), null);
   }
 }
@@ -1,11 +1,14 @@
 package com.zeabay.common.api.exception;
 
+import java.util.Locale;
+
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-/** Standardized application error codes mapped to HTTP status codes and default messages. */
+/**
+ * Standardized application error codes mapped to HTTP status codes, default messages and i18n
+ * message keys ({@code error.<lowercase name>}, computed once per constant).
+ */
 @Getter
-@RequiredArgsConstructor
 public enum ErrorCode {
 
   // ── 400 Bad Request ──────────────────────────────────────────────────
@@ -62,4 +65,11 @@ public enum ErrorCode {
 
   private final int httpStatus;
   private final String defaultMessage;
+  private final String messageKey;
+
+  ErrorCode(int httpStatus, String defaultMessage) {
+    this.httpStatus = httpStatus;
+    this.defaultMessage = defaultMessage;
+    this.messageKey = "error." + name().toLowerCase(Locale.ROOT);
+  }
 }
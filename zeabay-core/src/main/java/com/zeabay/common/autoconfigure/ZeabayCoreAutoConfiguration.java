@@ -1,8 +1,10 @@
 package com.zeabay.common.autoconfigure;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -14,6 +16,11 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import com.zeabay.common.security.OtpGenerator;
 import com.zeabay.common.tsid.TsidGenerator;
+import com.zeabay.common.tsid.TsidNodeIdResolver;
+import com.zeabay.common.tsid.TsidNodeLease;
+import com.zeabay.common.tsid.ZeabayTsidProperties;
+
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Root auto-configuration for shared platform utilities.
@@ -21,14 +28,40 @@ import com.zeabay.common.tsid.TsidGenerator;
  * <p>Registers beans for TSID generation, OTP generation, and a centralized {@link ObjectMapper}
  * with the platform's standard JSON contract.
  */
+@Slf4j
 @AutoConfiguration
+@EnableConfigurationProperties(ZeabayTsidProperties.class)
 public class ZeabayCoreAutoConfiguration {
 
-  /** Creates a {@link TsidGenerator} with a hostname-derived node ID when available. */
+  /**
+   * Creates a {@link TsidGenerator} with the configured node bits. The node ID comes from {@code
+   * zeabay.tsid.node-id}, else from a {@link TsidNodeLease} bean, else from the hostname. The
+   * hostname yields node IDs up to 1023, so fewer than {@value TsidGenerator#DEFAULT_NODE_BITS}
+   * node bits require one of the other two.
+   */
   @Bean
   @ConditionalOnMissingBean
-  public TsidGenerator tsidGenerator() {
-    return new TsidGenerator();
+  public TsidGenerator tsidGenerator(
+      ZeabayTsidProperties properties, ObjectProvider<TsidNodeLease> nodeLease) {
+    int nodeBits = properties.getNodeBits();
+    Integer nodeId = properties.getNodeId();
+    TsidNodeLease lease = nodeId == null ? nodeLease.getIfAvailable() : null;
+    TsidGenerator generator;
+    if (nodeId != null) {
+      generator = new TsidGenerator(nodeId, nodeBits);
+    } else if (lease != null) {
+      generator = TsidGenerator.leased(lease, nodeBits);
+    } else if (nodeBits < TsidGenerator.DEFAULT_NODE_BITS) {
+      throw new IllegalStateException(
+          "zeabay.tsid.node-bits="
+              + nodeBits
+              + " requires zeabay.tsid.node-id or a TsidNodeLease (zeabay.tsid.lease.enabled=true):"
+              + " hostname-derived node IDs would collide");
+    } else {
+      generator = new TsidGenerator(TsidNodeIdResolver.resolve(), nodeBits);
+    }
+    log.info("TSID generator ready: nodeBits={}, nodeId={}", nodeBits, generator.getNodeId());
+    return generator;
   }
 
   /** Creates an OTP generator backed by {@link java.security.SecureRandom}. */
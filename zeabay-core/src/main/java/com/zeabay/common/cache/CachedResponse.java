@@ -0,0 +1,49 @@
+package com.zeabay.common.cache;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A cached, already serialized HTTP response body.
+ *
+ * <p>The per-response trace ID is cut out of the body: {@code traceIdStart}/{@code traceIdEnd} are
+ * the byte offsets of the trace ID value that was in the original response ({@code -1} if it had
+ * none), and {@link #bodyWithTraceId(String)} splices the current request's trace ID back in.
+ *
+ * <p>{@code etag} and {@code lastModified} are the validators replayed with the entry and checked
+ * against conditional requests.
+ *
+ * @param contentType the response {@code Content-Type}
+ * @param body the UTF-8 response body
+ * @param traceIdStart offset of the first byte of the original trace ID, or {@code -1}
+ * @param traceIdEnd offset after the last byte of the original trace ID, or {@code -1}
+ * @param etag the response {@code ETag}, or {@code null}
+ * @param lastModified the response {@code Last-Modified} in epoch millis, or {@code -1}
+ * @param createdAt epoch millis at which the response was computed
+ * @param freshUntil epoch millis after which the entry is stale and should be refreshed
+ */
+public record CachedResponse(
+    String contentType,
+    byte[] body,
+    int traceIdStart,
+    int traceIdEnd,
+    String etag,
+    long lastModified,
+    long createdAt,
+    long freshUntil) {
+
+  /** Returns whether the entry is still fresh at {@code now} (epoch millis). */
+  public boolean isFresh(long now) {
+    return now < freshUntil;
+  }
+
+  /** Returns the body with {@code traceId} in place of the original trace ID. */
+  public byte[] bodyWithTraceId(String traceId) {
+    if (traceIdStart < 0 || traceId == null) return body;
+    byte[] id = traceId.getBytes(StandardCharsets.UTF_8);
+    byte[] out = new byte[body.length - (traceIdEnd - traceIdStart) + id.length];
+    System.arraycopy(body, 0, out, 0, traceIdStart);
+    System.arraycopy(id, 0, out, traceIdStart, id.length);
+    System.arraycopy(body, traceIdEnd, out, traceIdStart + id.length, body.length - traceIdEnd);
+    return out;
+  }
+}
@@ -0,0 +1,47 @@
+package com.zeabay.common.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SPI for the shared HTTP response cache behind {@code @ZeabayCacheable}.
+ *
+ * <p>Implemented by {@code RedisResponseCacheStore} in {@code zeabay-redis}; consumed by {@code
+ * ZeabayResponseCacheWebFilter} (zeabay-webflux).
+ */
+public interface ResponseCacheStore {
+
+  /**
+   * Looks up an entry, fresh or stale.
+   *
+   * @param key the cache key (route and parameters)
+   * @return a future completing with the entry, or with {@code null} if there is none
+   */
+  CompletableFuture<CachedResponse> get(String key);
+
+  /**
+   * Stores an entry and releases the refresh lock of {@code key} if {@code token} still holds it.
+   *
+   * @param retention how long the entry is kept, i.e. fresh time plus stale-while-revalidate time
+   * @param token the token the lock was acquired with
+   */
+  CompletableFuture<Void> put(
+      String key, CachedResponse response, Duration retention, String token);
+
+  /**
+   * Claims the right to recompute {@code key}, so only one request across all instances refreshes
+   * an entry. The lock is released by {@link #put} or {@link #unlock}, or expires after {@code
+   * timeout}.
+   *
+   * @param token unique per caller; only the holder's token releases the lock, so a caller that
+   *     outlived {@code timeout} cannot release a lock acquired since by another request
+   * @return a future completing with {@code true} if this caller holds the lock
+   */
+  CompletableFuture<Boolean> tryLock(String key, String token, Duration timeout);
+
+  /**
+   * Releases the refresh lock of {@code key} without storing an entry, e.g. when the handler failed
+   * or its response was not cacheable. Does nothing if {@code token} no longer holds the lock.
+   */
+  CompletableFuture<Void> unlock(String key, String token);
+}
@@ -0,0 +1,34 @@
+package com.zeabay.common.claimcheck;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SPI for the claim-check pattern: large event payloads are written to external storage and only a
+ * short reference travels through the outbox table and Kafka.
+ *
+ * <p>Implemented by {@code S3ClaimCheckStore} in {@code zeabay-s3}; consumed by {@code
+ * BaseProducer} (zeabay-outbox) when storing and by {@code MapToPojoRecordMessageConverter}
+ * (zeabay-kafka) when resolving.
+ */
+public interface ClaimCheckStore {
+
+  /**
+   * Stores a payload and returns a reference that can later be passed to {@link #open(String)}.
+   *
+   * @param key a unique, path-safe object key (e.g. {@code "<topic>/<eventId>"})
+   * @param payload the serialized payload
+   * @return a future completing with the storage reference (e.g. {@code s3://bucket/key})
+   */
+  CompletableFuture<String> store(String key, byte[] payload);
+
+  /**
+   * Opens a stream over a previously stored payload. Blocks until the object starts streaming;
+   * call from a thread that may block (e.g. a Kafka listener thread).
+   *
+   * @param reference a reference returned by {@link #store(String, byte[])}
+   * @return the payload stream; the caller must close it
+   */
+  InputStream open(String reference) throws IOException;
+}
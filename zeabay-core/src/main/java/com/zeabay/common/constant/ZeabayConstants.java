@@ -11,6 +11,12 @@ public class ZeabayConstants {
   /** HTTP header name used to propagate the trace ID between services. */
   public static final String TRACE_ID_HEADER = "X-Trace-Id";
 
+  /**
+   * HTTP header carrying the caller's remaining time budget in milliseconds; see {@link
+   * com.zeabay.common.context.Deadline}.
+   */
+  public static final String DEADLINE_HEADER = "X-Request-Timeout-Ms";
+
   /** Key for the client IP address in Reactor context and SLF4J MDC. */
   public static final String IP_CTX_KEY = "ip";
 
@@ -0,0 +1,32 @@
+package com.zeabay.common.context;
+
+import java.time.Duration;
+
+import com.zeabay.common.constant.ZeabayConstants;
+
+/**
+ * Point in time by which the current request must be answered, carried as a Reactor context entry
+ * under {@link #CTX_KEY}. Between services it travels as the remaining budget in milliseconds
+ * ({@link ZeabayConstants#DEADLINE_HEADER}), since it is based on {@link System#nanoTime()} and
+ * only meaningful within one JVM.
+ */
+public record Deadline(long nanoTime) {
+
+  /** Key of the deadline in the Reactor context. */
+  public static final String CTX_KEY = "zeabay.deadline";
+
+  /** Returns a deadline {@code budget} from now. */
+  public static Deadline after(Duration budget) {
+    return new Deadline(System.nanoTime() + budget.toNanos());
+  }
+
+  /** Returns the time left, or {@link Duration#ZERO} once expired. */
+  public Duration remaining() {
+    return Duration.ofNanos(Math.max(0, nanoTime - System.nanoTime()));
+  }
+
+  /** Returns whether no time is left. */
+  public boolean isExpired() {
+    return nanoTime - System.nanoTime() <= 0;
+  }
+}
@@ -0,0 +1,37 @@
+package com.zeabay.common.context;
+
+import com.zeabay.common.constant.ZeabayConstants;
+
+/**
+ * Immutable per-request metadata (trace ID, client IP, user, HTTP method and path) carried as a
+ * single Reactor context entry under {@link #CTX_KEY}, instead of one entry per field.
+ *
+ * <p>Fields are named after the {@link ZeabayConstants} keys they replace, which are also the MDC
+ * keys they are restored under.
+ */
+public record RequestMetadata(String traceId, String ip, String user, String method, String path) {
+
+  /** Key of the metadata in the Reactor context. */
+  public static final String CTX_KEY = "zeabay.requestMetadata";
+
+  /** Returns a copy with the given authenticated user. */
+  public RequestMetadata withUser(String user) {
+    return new RequestMetadata(traceId, ip, user, method, path);
+  }
+
+  /**
+   * Returns the field stored under the given {@link ZeabayConstants} context key.
+   *
+   * @return the value, or {@code null} for unknown keys or unset fields
+   */
+  public String get(String key) {
+    return switch (key) {
+      case ZeabayConstants.TRACE_ID_CTX_KEY -> traceId;
+      case ZeabayConstants.IP_CTX_KEY -> ip;
+      case ZeabayConstants.USER_CTX_KEY -> user;
+      case ZeabayConstants.METHOD_CTX_KEY -> method;
+      case ZeabayConstants.PATH_CTX_KEY -> path;
+      default -> null;
+    };
+  }
+}
@@ -0,0 +1,10 @@
+package com.zeabay.common.ratelimit;
+
+/**
+ * Outcome of taking one token from a rate limit bucket.
+ *
+ * @param allowed whether a token was available
+ * @param remaining whole tokens left in the bucket
+ * @param retryAfterMillis when rejected, how long until a token becomes available; otherwise 0
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterMillis) {}
@@ -0,0 +1,25 @@
+package com.zeabay.common.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SPI for token buckets shared by all instances of a service.
+ *
+ * <p>Implemented by {@code RedisRateLimitStore} in {@code zeabay-redis}; consumed by {@code
+ * ZeabayRateLimitWebFilter} (zeabay-security), which falls back to in-memory buckets when the
+ * store is slow or unavailable.
+ */
+public interface RateLimitStore {
+
+  /**
+   * Takes one token from the bucket of {@code key}, refilling it first. Buckets start full and
+   * refill continuously at {@code capacity} tokens per {@code period}.
+   *
+   * @param key the bucket key (rule and client)
+   * @param capacity the bucket size, i.e. the allowed burst
+   * @param period the time to refill an empty bucket
+   * @return a future completing with the decision
+   */
+  CompletableFuture<RateLimitDecision> tryAcquire(String key, long capacity, Duration period);
+}
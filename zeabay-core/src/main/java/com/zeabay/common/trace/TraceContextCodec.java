@@ -0,0 +1,205 @@
+package com.zeabay.common.trace;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C trace context codec shared by the web filter, the Kafka interceptor and the outbox publisher.
+ *
+ * <p>Parses {@code traceparent} values ({@code 00-<32 hex trace-id>-<16 hex span-id>-<2 hex
+ * flags>}) from a {@link CharSequence} or raw header bytes with a single pass and no regex, and
+ * generates IDs from {@link ThreadLocalRandom}. Trace IDs only need to be unique, not
+ * unpredictable, so the blocking {@code SecureRandom} behind {@code UUID.randomUUID()} is not
+ * needed.
+ */
+public final class TraceContextCodec {
+
+  private static final int TRACEPARENT_LENGTH = 55;
+  private static final int TRACE_ID_OFFSET = 3;
+  private static final int TRACE_ID_LENGTH = 32;
+  private static final int SPAN_ID_OFFSET = 36;
+  private static final int SPAN_ID_LENGTH = 16;
+  private static final int FLAGS_OFFSET = 53;
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+  private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
+  private TraceContextCodec() {}
+
+  /**
+   * Extracts the trace ID of a {@code traceparent} value, ignoring surrounding whitespace.
+   *
+   * @return the lowercase 32-char trace ID, or {@code null} if the value is absent or malformed
+   */
+  public static String parseTraceId(CharSequence traceparent) {
+    if (traceparent == null) return null;
+    int start = 0;
+    int end = traceparent.length();
+    while (start < end && traceparent.charAt(start) <= ' ') start++;
+    while (end > start && traceparent.charAt(end - 1) <= ' ') end--;
+    if (end - start != TRACEPARENT_LENGTH) return null;
+
+    for (int i = 0; i < TRACEPARENT_LENGTH; i++) {
+      if (!validAt(i, traceparent.charAt(start + i))) return null;
+    }
+
+    byte[] traceId = new byte[TRACE_ID_LENGTH];
+    boolean allZero = true;
+    for (int i = 0; i < TRACE_ID_LENGTH; i++) {
+      char c = traceparent.charAt(start + TRACE_ID_OFFSET + i);
+      traceId[i] = (byte) toLower(c);
+      allZero &= c == '0';
+    }
+    return allZero ? null : new String(traceId, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Extracts the trace ID of a {@code traceparent} header value given as ASCII bytes, without
+   * decoding the header to a {@link String} first.
+   *
+   * @return the lowercase 32-char trace ID, or {@code null} if the value is absent or malformed
+   */
+  public static String parseTraceId(byte[] traceparent) {
+    if (traceparent == null) return null;
+    int start = 0;
+    int end = traceparent.length;
+    while (start < end && traceparent[start] <= ' ' && traceparent[start] >= 0) start++;
+    while (end > start && traceparent[end - 1] <= ' ' && traceparent[end - 1] >= 0) end--;
+    if (end - start != TRACEPARENT_LENGTH) return null;
+
+    for (int i = 0; i < TRACEPARENT_LENGTH; i++) {
+      if (!validAt(i, (char) (traceparent[start + i] & 0xff))) return null;
+    }
+
+    byte[] traceId = new byte[TRACE_ID_LENGTH];
+    boolean allZero = true;
+    for (int i = 0; i < TRACE_ID_LENGTH; i++) {
+      byte b = traceparent[start + TRACE_ID_OFFSET + i];
+      traceId[i] = (byte) toLower((char) b);
+      allZero &= b == '0';
+    }
+    return allZero ? null : new String(traceId, StandardCharsets.ISO_8859_1);
+  }
+
+  /** Returns whether {@code value} is a non-zero 32-char hex trace ID (either case). */
+  public static boolean isTraceId(CharSequence value) {
+    if (value == null || value.length() != TRACE_ID_LENGTH) return false;
+    boolean allZero = true;
+    for (int i = 0; i < TRACE_ID_LENGTH; i++) {
+      char c = value.charAt(i);
+      if (!isHex(c)) return false;
+      allZero &= c == '0';
+    }
+    return !allZero;
+  }
+
+  /** Generates a random, non-zero 32-char lowercase trace ID. */
+  public static String newTraceId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long high = random.nextLong();
+    long low = random.nextLong();
+    if (high == 0 && low == 0) low = 1;
+    return hex(high, low);
+  }
+
+  /** Generates a random, non-zero 16-char lowercase span ID. */
+  public static String newSpanId() {
+    long id = ThreadLocalRandom.current().nextLong();
+    byte[] out = new byte[SPAN_ID_LENGTH];
+    writeHex(id == 0 ? 1 : id, out, 0);
+    return new String(out, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Normalises an arbitrary trace identifier to a W3C trace ID: valid trace IDs are lowercased,
+   * anything else is mapped through a deterministic 128-bit hash so that the same identifier always
+   * yields the same trace ID. {@code null} or blank yields the all-zero (invalid) ID.
+   */
+  public static String toTraceId(String traceId) {
+    if (traceId == null || traceId.isBlank()) return INVALID_TRACE_ID;
+    if (isTraceId(traceId)) return lowerHex(traceId);
+
+    long h1 = 0xcbf29ce484222325L;
+    long h2 = 0x84222325cbf29ce4L;
+    for (int i = 0; i < traceId.length(); i++) {
+      char c = traceId.charAt(i);
+      h1 = (h1 ^ c) * 0x100000001b3L;
+      h2 = (h2 ^ c) * 0x9e3779b97f4a7c15L;
+    }
+    return hex(mix(h1), mix(h2 ^ h1));
+  }
+
+  /**
+   * Formats a version-00 sampled {@code traceparent} for {@code traceId} with a fresh span ID.
+   *
+   * @param traceId any trace identifier; normalised with {@link #toTraceId(String)}
+   */
+  public static String traceparent(String traceId) {
+    String normalized = toTraceId(traceId);
+    byte[] out = new byte[TRACEPARENT_LENGTH];
+    out[0] = '0';
+    out[1] = '0';
+    out[2] = '-';
+    for (int i = 0; i < TRACE_ID_LENGTH; i++) {
+      out[TRACE_ID_OFFSET + i] = (byte) normalized.charAt(i);
+    }
+    out[SPAN_ID_OFFSET - 1] = '-';
+    long spanId = ThreadLocalRandom.current().nextLong();
+    writeHex(spanId == 0 ? 1 : spanId, out, SPAN_ID_OFFSET);
+    out[FLAGS_OFFSET - 1] = '-';
+    out[FLAGS_OFFSET] = '0';
+    out[FLAGS_OFFSET + 1] = '1';
+    return new String(out, StandardCharsets.ISO_8859_1);
+  }
+
+  private static boolean validAt(int i, char c) {
+    if (i == 2 || i == SPAN_ID_OFFSET - 1 || i == FLAGS_OFFSET - 1) return c == '-';
+    return isHex(c);
+  }
+
+  private static boolean isHex(char c) {
+    return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  private static char toLower(char c) {
+    return c >= 'A' && c <= 'F' ? (char) (c + ('a' - 'A')) : c;
+  }
+
+  private static String lowerHex(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 'A' && c <= 'F') {
+        byte[] out = new byte[value.length()];
+        for (int j = 0; j < out.length; j++) {
+          out[j] = (byte) toLower(value.charAt(j));
+        }
+        return new String(out, StandardCharsets.ISO_8859_1);
+      }
+    }
+    return value;
+  }
+
+  private static String hex(long high, long low) {
+    byte[] out = new byte[TRACE_ID_LENGTH];
+    writeHex(high, out, 0);
+    writeHex(low, out, 16);
+    return new String(out, StandardCharsets.ISO_8859_1);
+  }
+
+  private static void writeHex(long value, byte[] out, int offset) {
+    for (int i = 15; i >= 0; i--) {
+      out[offset + i] = HEX[(int) (value & 0xf)];
+      value >>>= 4;
+    }
+  }
+
+  /** Murmur3 64-bit finalizer: spreads FNV's weak low bits across the whole word. */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,110 @@
+package com.zeabay.common.tsid;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Crockford base32 codec for 64-bit TSIDs, producing the same 13-character lowercase form as {@link
+ * TsidGenerator#newId()} (e.g., {@code "0aww1zb1ks3wm"}).
+ *
+ * <p>Encoders write straight into the caller's buffer, so IDs can be appended to logs, headers or
+ * JSON without an intermediate {@code Tsid} or upper-case {@link String}. Decoding accepts upper
+ * and lower case.
+ */
+public final class TsidCodec {
+
+  /** Length of an encoded TSID. */
+  public static final int LENGTH = 13;
+
+  private static final char[] ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+  private static final byte[] DECODE = new byte[128];
+
+  static {
+    Arrays.fill(DECODE, (byte) -1);
+    for (int i = 0; i < ALPHABET.length; i++) {
+      DECODE[ALPHABET[i]] = (byte) i;
+      DECODE[Character.toUpperCase(ALPHABET[i])] = (byte) i;
+    }
+  }
+
+  private TsidCodec() {}
+
+  /**
+   * Encodes a TSID as a lowercase string.
+   *
+   * @param tsid the 64-bit TSID
+   * @return the 13-character encoded form
+   */
+  public static String encode(long tsid) {
+    byte[] ascii = new byte[LENGTH];
+    for (int i = LENGTH - 1; i >= 0; i--) {
+      ascii[i] = (byte) ALPHABET[(int) (tsid >>> (5 * (LENGTH - 1 - i))) & 0x1f];
+    }
+    return new String(ascii, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Writes the encoded TSID into {@code dst} starting at {@code offset}.
+   *
+   * @throws IndexOutOfBoundsException if fewer than {@link #LENGTH} chars remain
+   */
+  public static void encode(long tsid, char[] dst, int offset) {
+    if (offset < 0 || dst.length - offset < LENGTH) {
+      throw new IndexOutOfBoundsException("Need " + LENGTH + " chars at offset " + offset);
+    }
+    for (int i = LENGTH - 1; i >= 0; i--) {
+      dst[offset + i] = ALPHABET[(int) (tsid >>> (5 * (LENGTH - 1 - i))) & 0x1f];
+    }
+  }
+
+  /** Appends the encoded TSID to {@code sb}. */
+  public static StringBuilder encode(long tsid, StringBuilder sb) {
+    for (int shift = 5 * (LENGTH - 1); shift >= 0; shift -= 5) {
+      sb.append(ALPHABET[(int) (tsid >>> shift) & 0x1f]);
+    }
+    return sb;
+  }
+
+  /**
+   * Writes the encoded TSID as ASCII bytes at the buffer's position, advancing it by {@link
+   * #LENGTH}.
+   */
+  public static ByteBuffer encode(long tsid, ByteBuffer dst) {
+    for (int shift = 5 * (LENGTH - 1); shift >= 0; shift -= 5) {
+      dst.put((byte) ALPHABET[(int) (tsid >>> shift) & 0x1f]);
+    }
+    return dst;
+  }
+
+  /**
+   * Parses an encoded TSID back to its 64-bit value.
+   *
+   * @param encoded a 13-character Crockford base32 TSID, in either case
+   * @return the TSID as a {@code long}
+   * @throws IllegalArgumentException if {@code encoded} is not a valid TSID
+   */
+  public static long decode(CharSequence encoded) {
+    if (!isValid(encoded)) {
+      throw new IllegalArgumentException("Invalid TSID: " + encoded);
+    }
+    long value = 0;
+    for (int i = 0; i < LENGTH; i++) {
+      value = (value << 5) | DECODE[encoded.charAt(i)];
+    }
+    return value;
+  }
+
+  /**
+   * Returns whether {@code encoded} is a valid TSID: 13 base32 characters whose first character
+   * carries no more than the 4 remaining high bits.
+   */
+  public static boolean isValid(CharSequence encoded) {
+    if (encoded == null || encoded.length() != LENGTH) return false;
+    for (int i = 0; i < LENGTH; i++) {
+      char c = encoded.charAt(i);
+      if (c >= DECODE.length || DECODE[c] < 0) return false;
+    }
+    return DECODE[encoded.charAt(0)] < 16;
+  }
+}
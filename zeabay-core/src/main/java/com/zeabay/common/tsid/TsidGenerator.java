@@ -1,8 +1,7 @@
 package com.zeabay.common.tsid;
 
-import java.util.Locale;
-
-import com.github.f4b6a3.tsid.TsidFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Global ID generator producing time-sorted, collision-resistant unique identifiers using the TSID
@@ -10,28 +9,120 @@ import com.github.f4b6a3.tsid.TsidFactory;
  *
  * <p>Uses a node ID derived from {@link TsidNodeIdResolver} when available, which prevents
  * collisions across multiple service instances running concurrently.
+ *
+ * <p>Layout (64 bits): 42-bit milliseconds since the TSID epoch (2020-01-01), then a node and a
+ * counter sharing 22 bits (10/12 by default, see {@link ZeabayTsidProperties}). The counter space
+ * is split into stripes, each owned by an {@link AtomicLongArray} slot picked from the calling
+ * thread, so concurrent callers do not serialize on a shared lock. Within a stripe, IDs are
+ * strictly increasing; across stripes they are ordered by millisecond only. When a stripe exhausts
+ * its share of a millisecond it borrows from the next one, as the TSID algorithm does on counter
+ * overflow.
+ *
+ * <p>Built from a {@link TsidNodeLease}, the generator reads the node ID from the lease on every
+ * call and throws {@link IllegalStateException} while the lease is fenced, so no IDs are issued
+ * under a node ID another instance may hold.
  */
 public final class TsidGenerator {
 
-  private final TsidFactory factory;
+  /** 2020-01-01T00:00:00Z, the epoch of the TSID specification. */
+  private static final long TSID_EPOCH = 1577836800000L;
+
+  /** Node bits of the standard TSID layout. */
+  public static final int DEFAULT_NODE_BITS = 10;
+
+  private static final int RANDOM_BITS = 22;
+  private static final int MAX_NODE_BITS = 20;
+  private static final int MAX_STRIPE_BITS = 3;
+
+  /** Minimum counter bits left to each stripe, so a stripe is not exhausted too quickly. */
+  private static final int MIN_SLOT_BITS = 8;
+
+  /** Stripe slots are spaced a cache line apart to avoid false sharing. */
+  private static final int SLOT_SPACING = 8;
+
+  private final int nodeId;
+  private final int nodeMask;
+  private final int counterBits;
+  private final long nodeComponent;
+  private final TsidNodeLease lease;
+  private final int stripeBits;
+  private final int stripeMask;
+  private final int slotBits;
+  private final long slotMask;
+  private final AtomicLongArray stripes;
 
   public TsidGenerator() {
-    Integer nodeId = TsidNodeIdResolver.resolve();
-    this.factory =
-        nodeId != null
-            ? TsidFactory.builder().withNode(nodeId).build()
-            : TsidFactory.builder().build();
+    this(TsidNodeIdResolver.resolve());
+  }
+
+  /**
+   * @param nodeId node ID between 0 and 1023, or {@code null} to pick a random one
+   */
+  public TsidGenerator(Integer nodeId) {
+    this(nodeId, DEFAULT_NODE_BITS);
+  }
+
+  /**
+   * @param nodeId node ID in {@code [0, 2^nodeBits)}, or {@code null} to pick a random one; larger
+   *     values wrap around
+   * @param nodeBits number of node bits, 0-20; the counter gets the remaining {@code 22 - nodeBits}
+   */
+  public TsidGenerator(Integer nodeId, int nodeBits) {
+    this(nodeId, nodeBits, null);
+  }
+
+  private TsidGenerator(Integer nodeId, int nodeBits, TsidNodeLease lease) {
+    checkNodeBits(nodeBits);
+    this.lease = lease;
+    this.counterBits = RANDOM_BITS - nodeBits;
+    this.nodeMask = (1 << nodeBits) - 1;
+    this.nodeId =
+        nodeId != null ? nodeId & nodeMask : ThreadLocalRandom.current().nextInt(nodeMask + 1);
+    int processors = Runtime.getRuntime().availableProcessors();
+    int cpuBits = 31 - Integer.numberOfLeadingZeros(Math.max(1, processors));
+    this.stripeBits =
+        Math.max(0, Math.min(Math.min(MAX_STRIPE_BITS, cpuBits), counterBits - MIN_SLOT_BITS));
+    this.stripeMask = (1 << stripeBits) - 1;
+    this.slotBits = counterBits - stripeBits;
+    this.slotMask = (1L << slotBits) - 1;
+    this.nodeComponent = (long) this.nodeId << counterBits;
+    this.stripes = new AtomicLongArray((stripeMask + 1) * SLOT_SPACING);
+  }
+
+  /**
+   * Acquires the node ID from {@code lease} and follows it afterwards: IDs use the lease's current
+   * node ID, and generation fails while the lease is fenced.
+   *
+   * @param lease the node ID lease
+   * @param nodeBits number of node bits, 0-20
+   * @return a generator bound to the lease
+   */
+  public static TsidGenerator leased(TsidNodeLease lease, int nodeBits) {
+    return new TsidGenerator(lease.acquire(1 << checkNodeBits(nodeBits)), nodeBits, lease);
+  }
+
+  private static int checkNodeBits(int nodeBits) {
+    if (nodeBits < 0 || nodeBits > MAX_NODE_BITS) {
+      throw new IllegalArgumentException("nodeBits must be between 0 and " + MAX_NODE_BITS);
+    }
+    return nodeBits;
+  }
+
+  /** Returns the node ID embedded in generated IDs, or {@code -1} while the lease is fenced. */
+  public int getNodeId() {
+    return lease != null ? lease.currentNodeId() : nodeId;
   }
 
   /**
-   * Generates a URL-safe, lowercase TSID string (e.g., {@code "054kg95e3i5"}).
+   * Generates a URL-safe, lowercase TSID string (e.g., {@code "0aww1zb1ks3wm"}).
    *
    * <p>Use for string/JSON identifiers where human-readability and lexicographic ordering matter.
+   * {@link TsidCodec#decode(CharSequence)} turns it back into the {@code long} form.
    *
    * @return a new unique TSID string
    */
   public String newId() {
-    return factory.create().toString().toLowerCase(Locale.ROOT);
+    return TsidCodec.encode(newLongId());
   }
 
   /**
@@ -43,6 +134,70 @@ public final class TsidGenerator {
    * @return a new unique TSID as a {@code long}
    */
   public long newLongId() {
-    return factory.create().toLong();
+    long node = nodeComponent();
+    int stripe = currentStripe();
+    return toId(node, stripe, reserve(stripe, 1));
+  }
+
+  /**
+   * Generates {@code n} TSIDs with a single reservation, for batch inserts.
+   *
+   * @param n number of IDs to generate
+   * @return a new array of {@code n} increasing TSIDs
+   */
+  public long[] newLongIds(int n) {
+    long[] ids = new long[n];
+    fill(ids);
+    return ids;
+  }
+
+  /**
+   * Fills {@code ids} with increasing TSIDs reserved in a single step.
+   *
+   * @param ids the array to fill
+   */
+  public void fill(long[] ids) {
+    if (ids.length == 0) return;
+    long node = nodeComponent();
+    int stripe = currentStripe();
+    long slot = reserve(stripe, ids.length);
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = toId(node, stripe, slot + i);
+    }
+  }
+
+  private long nodeComponent() {
+    if (lease == null) return nodeComponent;
+    int leased = lease.currentNodeId();
+    if (leased < 0) {
+      throw new IllegalStateException("TSID node lease lost, no IDs until a node ID is re-leased");
+    }
+    return (long) (leased & nodeMask) << counterBits;
+  }
+
+  /**
+   * Reserves {@code n} consecutive slots of the stripe. A slot packs {@code (millis << slotBits) |
+   * counter}, so running past the counter range rolls over into the next millisecond.
+   *
+   * @return the first reserved slot
+   */
+  private long reserve(int stripe, int n) {
+    int index = stripe * SLOT_SPACING;
+    long now = (System.currentTimeMillis() - TSID_EPOCH) << slotBits;
+    while (true) {
+      long next = stripes.get(index);
+      long first = Math.max(next, now);
+      if (stripes.compareAndSet(index, next, first + n)) return first;
+    }
+  }
+
+  private long toId(long node, int stripe, long slot) {
+    long millis = slot >>> slotBits;
+    long counter = ((long) stripe << slotBits) | (slot & slotMask);
+    return (millis << RANDOM_BITS) | node | counter;
+  }
+
+  private int currentStripe() {
+    return (int) Thread.currentThread().threadId() & stripeMask;
   }
 }
@@ -23,22 +23,47 @@ public final class TsidNodeIdResolver {
    * @return node ID between 0 and 1023, or {@code null} if no hostname is available
    */
   public static Integer resolve() {
+    String hostname = hostname();
+    if (hostname == null) {
+      return null; // Fallback to random node ID
+    }
+
+    Integer ordinal = ordinal(hostname);
+    if (ordinal != null) {
+      return ordinal % (MAX_NODE + 1);
+    }
+    return Math.abs(hostname.hashCode()) % (MAX_NODE + 1);
+  }
+
+  /**
+   * Resolves the trailing ordinal of the hostname (e.g., {@code 2} for {@code auth-service-2}).
+   * Unlike {@link #resolve()}, there is no hash fallback: only StatefulSet-style names yield an
+   * identity that is stable across restarts.
+   *
+   * @return the ordinal, or {@code null} if the hostname is unavailable or has no trailing ordinal
+   */
+  public static Integer resolveOrdinal() {
+    String hostname = hostname();
+    return hostname != null ? ordinal(hostname) : null;
+  }
+
+  private static String hostname() {
     String hostname = System.getenv("HOSTNAME");
     if (hostname == null || hostname.isBlank()) {
       hostname = System.getenv("COMPUTERNAME");
     }
-    if (hostname == null || hostname.isBlank()) {
-      return null; // Fallback to random node ID
-    }
+    return hostname == null || hostname.isBlank() ? null : hostname;
+  }
 
+  private static Integer ordinal(String hostname) {
     Matcher m = TRAILING_ORDINAL.matcher(hostname);
     if (m.find()) {
       try {
-        return Integer.parseInt(m.group(1)) % (MAX_NODE + 1);
+        return Integer.parseInt(m.group(1));
       } catch (NumberFormatException ignored) {
-        // Fall through to hash
+        // Fall through to null
       }
     }
-    return Math.abs(hostname.hashCode()) % (MAX_NODE + 1);
+    return null;
   }
 }
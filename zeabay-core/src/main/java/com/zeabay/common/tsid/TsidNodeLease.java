@@ -0,0 +1,35 @@
+package com.zeabay.common.tsid;
+
+/**
+ * Hands out TSID node IDs that are unique across the fleet for as long as the holder keeps
+ * renewing them. Declaring a bean of this type makes {@code ZeabayCoreAutoConfiguration} build the
+ * {@link TsidGenerator} from a leased node ID instead of the hostname.
+ *
+ * <p>Implementations renew the lease in the background after {@link #acquire(int)} and give it up
+ * in {@link #release()}. A lease that can no longer be proven held (renewals failing until it may
+ * have expired, or another instance owning the node ID) is fenced: {@link #currentNodeId()} returns
+ * {@code -1} and the generator refuses to issue IDs until a node ID is leased again.
+ */
+public interface TsidNodeLease {
+
+  /**
+   * Acquires a node ID no other live instance holds. Blocks until one is found.
+   *
+   * @param nodeCount size of the node ID space ({@code 2^nodeBits})
+   * @return the leased node ID in {@code [0, nodeCount)}
+   * @throws IllegalStateException if every node ID is taken
+   */
+  int acquire(int nodeCount);
+
+  /**
+   * Returns the node ID currently held. It may differ from the one returned by {@link
+   * #acquire(int)} if the lease was lost and another node ID leased in its place. Called on every
+   * ID generation, so implementations should only read state maintained by the renewal.
+   *
+   * @return the held node ID, or {@code -1} while the lease is fenced
+   */
+  int currentNodeId();
+
+  /** Releases the leased node ID, if any, and stops renewing it. */
+  void release();
+}
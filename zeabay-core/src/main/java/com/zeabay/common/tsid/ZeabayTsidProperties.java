@@ -0,0 +1,49 @@
+package com.zeabay.common.tsid;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * TSID layout and node assignment (prefix: {@code zeabay.tsid}).
+ *
+ * <p>The 22 bits after the timestamp are split between node and counter. Fewer node bits give each
+ * node more IDs per millisecond ({@code 2^(22 - nodeBits)}) but leave fewer node IDs to hand out,
+ * which is only safe with a {@link TsidNodeLease} or explicit {@code node-id} (enforced at startup
+ * for fewer than 10 node bits). All services writing to the same tables must use the same {@code
+ * node-bits}.
+ *
+ * <pre>
+ * zeabay:
+ *   tsid:
+ *     node-bits: 6      # 64 nodes, 65536 ids/ms each
+ *     lease:
+ *       enabled: true   # requires zeabay-redis
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "zeabay.tsid")
+public class ZeabayTsidProperties {
+
+  /** Node bits of the layout, 0-20. */
+  private int nodeBits = TsidGenerator.DEFAULT_NODE_BITS;
+
+  /** Fixed node ID; overrides leasing and hostname resolution. */
+  private Integer nodeId;
+
+  private Lease lease = new Lease();
+
+  /** Node ID leasing. */
+  @Data
+  public static class Lease {
+    private boolean enabled = false;
+
+    /** Time after which a lease that is no longer renewed is free for other instances. */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /** Renewal interval; must be below {@code ttl}, ideally a third of it or less. */
+    private Duration heartbeat = Duration.ofSeconds(10);
+  }
+}
@@ -1,14 +1,19 @@
 package com.zeabay.common.inbox;
 
 import java.time.Instant;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import com.zeabay.common.kafka.BaseEvent;
+import com.zeabay.common.kafka.backpressure.InFlightEventSignal;
+import com.zeabay.common.kafka.metrics.EventLatencyRecorder;
+import com.zeabay.common.kafka.metrics.EventTiming;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -26,6 +31,12 @@ public abstract class BaseConsumer<T extends BaseEvent> {
 
   @Autowired private InboxEventRepository inboxEventRepository;
 
+  @Autowired(required = false)
+  private InFlightEventSignal inFlightEventSignal;
+
+  @Autowired(required = false)
+  private EventLatencyRecorder eventLatencyRecorder;
+
   @Value("${spring.application.name}")
   private String producedFrom;
 
@@ -39,14 +50,46 @@ public abstract class BaseConsumer<T extends BaseEvent> {
     processEvent(event).block();
   }
 
+  /**
+   * Call this from a {@code @KafkaListener} method declaring a {@code List<T>} parameter on topics
+   * that use outbox envelope batching. Events are processed one by one through {@link
+   * #processEvent(BaseEvent, EventTiming)}, each with its own inbox record: if processing fails
+   * midway, the redelivered envelope skips the events already handled as duplicates. All events
+   * share the timing of their Kafka record, read once here on the listener thread.
+   *
+   * @param events the unpacked events of one Kafka record, in publish order
+   */
+  public void handleEvents(List<T> events) {
+    EventTiming timing = EventTiming.current();
+    Flux.fromIterable(events).concatMap(event -> processEvent(event, timing)).then().block();
+  }
+
   /**
    * Saves an {@link InboxEvent} record (idempotency guard) then delegates to {@link #doProcess}.
-   * Duplicate events (same {@code event_id} + {@code produced_from}) are silently discarded.
+   * Duplicate events (same {@code event_id} + {@code produced_from}) are silently discarded. The
+   * event counts as in flight for Kafka backpressure until the returned {@link Mono} terminates.
+   *
+   * <p>Must be called on the listener thread: the record's {@link EventTiming} is captured here and
+   * reported to the {@link EventLatencyRecorder} once {@link #doProcess} succeeds. Duplicates are
+   * not recorded.
    *
    * @param event the incoming domain event
    * @return a {@link Mono} that completes when processing is done, or empty on duplicate
    */
   public Mono<Void> processEvent(T event) {
+    return processEvent(event, EventTiming.current());
+  }
+
+  /**
+   * Same as {@link #processEvent(BaseEvent)}, with the record's timing captured by the caller. Use
+   * this overload when processing does not start on the listener thread.
+   *
+   * @param event the incoming domain event
+   * @param timing the timing of the Kafka record carrying the event, or {@code null} to skip
+   *     latency recording
+   * @return a {@link Mono} that completes when processing is done, or empty on duplicate
+   */
+  public Mono<Void> processEvent(T event, EventTiming timing) {
     InboxEvent record =
         InboxEvent.builder()
             .eventId(event.getEventId())
@@ -72,11 +115,15 @@ public abstract class BaseConsumer<T extends BaseEvent> {
             _ ->
                 doProcess(event)
                     .doOnSuccess(
-                        _ ->
-                            log.info(
-                                "Event processed successfully: id={}, type={}",
-                                event.getEventId(),
-                                event.getEventType()))
+                        _ -> {
+                          log.info(
+                              "Event processed successfully: id={}, type={}",
+                              event.getEventId(),
+                              event.getEventType());
+                          if (eventLatencyRecorder != null && timing != null) {
+                            eventLatencyRecorder.recordProcessed(event.getEventType(), timing);
+                          }
+                        })
                     .onErrorResume(
                         e -> {
                           log.error(
@@ -85,7 +132,17 @@ public abstract class BaseConsumer<T extends BaseEvent> {
                               event.getEventType(),
                               e.getMessage());
                           return Mono.error(e);
-                        }));
+                        }))
+        .transform(this::trackInFlight);
+  }
+
+  private Mono<Void> trackInFlight(Mono<Void> processing) {
+    if (inFlightEventSignal == null) return processing;
+    return Mono.defer(
+        () -> {
+          inFlightEventSignal.begin();
+          return processing.doFinally(_ -> inFlightEventSignal.end());
+        });
   }
 
   /**
@@ -7,9 +7,26 @@ import lombok.Data;
 /**
  * Configuration properties for the Inbox pattern (prefix: {@code zeabay.inbox}).
  *
- * <p>Reserved for future consumer-side tunables such as event TTL or retention policy. Mirrors
- * {@code OutboxProperties} on the producer side.
+ * <p>Holds consumer-side tunables. Mirrors {@code OutboxProperties} on the producer side.
  */
 @Data
 @ConfigurationProperties(prefix = "zeabay.inbox")
-public class InboxProperties {}
+public class InboxProperties {
+
+  private PoolBackpressure poolBackpressure = new PoolBackpressure();
+
+  /**
+   * R2DBC pool thresholds feeding the Kafka backpressure controller ({@code
+   * zeabay.kafka.backpressure.enabled}).
+   */
+  @Data
+  public static class PoolBackpressure {
+    private boolean enabled = true;
+
+    /** Pending connection acquisitions at which Kafka consumption pauses. */
+    private int pausePendingAcquires = 10;
+
+    /** Pending connection acquisitions at or below which consumption resumes. */
+    private int resumePendingAcquires = 0;
+  }
+}
@@ -0,0 +1,46 @@
+package com.zeabay.common.inbox;
+
+import com.zeabay.common.kafka.backpressure.BackpressureSignal;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Reports saturation of the R2DBC connection pool behind {@link BaseConsumer}: consumption pauses
+ * when too many subscribers wait for a connection and resumes once the queue has drained. A
+ * connection factory that is not a {@link ConnectionPool} never reports saturation.
+ */
+public class R2dbcPoolBackpressureSignal implements BackpressureSignal {
+
+  private final ConnectionPool pool;
+  private final int pausePendingAcquires;
+  private final int resumePendingAcquires;
+
+  public R2dbcPoolBackpressureSignal(
+      ConnectionFactory connectionFactory, int pausePendingAcquires, int resumePendingAcquires) {
+    this.pool = connectionFactory instanceof ConnectionPool p ? p : null;
+    this.pausePendingAcquires = pausePendingAcquires;
+    this.resumePendingAcquires = Math.min(resumePendingAcquires, pausePendingAcquires);
+  }
+
+  @Override
+  public String name() {
+    return "r2dbc-pool";
+  }
+
+  @Override
+  public boolean isSaturated() {
+    return pendingAcquires() >= pausePendingAcquires;
+  }
+
+  @Override
+  public boolean isRelieved() {
+    return pendingAcquires() <= resumePendingAcquires;
+  }
+
+  private int pendingAcquires() {
+    if (pool == null) return 0;
+    return pool.getMetrics().map(PoolMetrics::pendingAcquireSize).orElse(0);
+  }
+}
@@ -4,8 +4,10 @@ import org.flywaydb.core.Flyway;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.r2dbc.autoconfigure.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -13,8 +15,11 @@ import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
 import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
 
 import com.zeabay.common.inbox.InboxEventRepository;
+import com.zeabay.common.inbox.InboxProperties;
 import com.zeabay.common.inbox.InboxR2dbcMigrationContributor;
+import com.zeabay.common.inbox.R2dbcPoolBackpressureSignal;
 
+import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.spi.ConnectionFactory;
 
 /**
@@ -31,6 +36,7 @@ import io.r2dbc.spi.ConnectionFactory;
 @AutoConfiguration(after = R2dbcAutoConfiguration.class)
 @EnableR2dbcRepositories(basePackages = "com.zeabay.common.inbox")
 @ConditionalOnClass({KafkaTemplate.class, InboxEventRepository.class})
+@EnableConfigurationProperties(InboxProperties.class)
 public class ZeabayInboxAutoConfiguration {
 
   /**
@@ -61,4 +67,26 @@ public class ZeabayInboxAutoConfiguration {
             new ClassPathResource("com/zeabay/common/inbox/db/migration/V0_1__inbox_events.sql")));
     return initializer;
   }
+
+  /** Pool-based backpressure, only when r2dbc-pool is on the classpath. */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(ConnectionPool.class)
+  @ConditionalOnProperty(
+      name = "zeabay.inbox.pool-backpressure.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  static class InboxPoolBackpressureConfiguration {
+
+    /**
+     * Pauses Kafka consumption while subscribers queue for pool connections. Only consulted when
+     * {@code zeabay.kafka.backpressure.enabled=true}.
+     */
+    @Bean
+    public R2dbcPoolBackpressureSignal inboxR2dbcPoolBackpressureSignal(
+        ConnectionFactory connectionFactory, InboxProperties properties) {
+      InboxProperties.PoolBackpressure bp = properties.getPoolBackpressure();
+      return new R2dbcPoolBackpressureSignal(
+          connectionFactory, bp.getPausePendingAcquires(), bp.getResumePendingAcquires());
+    }
+  }
 }
@@ -1,44 +1,84 @@
 package com.zeabay.common.autoconfigure;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
+import org.apache.kafka.clients.consumer.RangeAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CompositeRecordInterceptor;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.backoff.FixedBackOff;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.zeabay.common.claimcheck.ClaimCheckStore;
 import com.zeabay.common.kafka.ZeabayKafkaProperties;
+import com.zeabay.common.kafka.backpressure.BackpressureSignal;
+import com.zeabay.common.kafka.backpressure.InFlightEventSignal;
+import com.zeabay.common.kafka.backpressure.KafkaBackpressureController;
+import com.zeabay.common.kafka.codec.EventCodec;
+import com.zeabay.common.kafka.codec.EventCodecRegistry;
+import com.zeabay.common.kafka.codec.JacksonEventCodec;
+import com.zeabay.common.kafka.metrics.EventLatencyRecorder;
+import com.zeabay.common.kafka.metrics.KafkaConsumerLagMonitor;
+import com.zeabay.common.kafka.metrics.MicrometerEventLatencyRecorder;
+import com.zeabay.common.kafka.support.EventTimingRecordInterceptor;
 import com.zeabay.common.kafka.support.MapToPojoRecordMessageConverter;
 import com.zeabay.common.kafka.support.TraceparentRecordInterceptor;
+import com.zeabay.common.kafka.support.ZeabayEventDeserializer;
+import com.zeabay.common.kafka.support.ZeabayEventSerializer;
+import com.zeabay.common.kafka.support.ZeabayRebalanceListener;
+import com.zeabay.common.tsid.TsidNodeIdResolver;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Autoconfigures core Kafka infrastructure: admin client, producer/consumer factories, error
  * handler, and listener container factory.
  *
+ * <p>Failed records are retried in place with a fixed backoff by default. Setting {@code
+ * zeabay.kafka.dlq.non-blocking.enabled=true} switches to non-blocking retry topics instead, so a
+ * poison record no longer stalls its partition.
+ *
+ * <p>Consumer lag gauges are published when Micrometer is present; {@code
+ * zeabay.kafka.backpressure.enabled=true} additionally pauses listeners while a {@link
+ * BackpressureSignal} reports downstream saturation.
+ *
  * <p>Note: Topic creation is delegated to domain-specific configuration classes (e.g.,
  * PulseKafkaTopicsConfiguration) providing {@link org.apache.kafka.clients.admin.NewTopic} beans.
  */
@@ -47,13 +87,20 @@ import lombok.extern.slf4j.Slf4j;
 @EnableKafka
 @ConditionalOnClass(KafkaTemplate.class)
 @EnableConfigurationProperties(ZeabayKafkaProperties.class)
-@AutoConfigureAfter(ZeabayCoreAutoConfiguration.class)
+@AutoConfigureAfter(
+    value = ZeabayCoreAutoConfiguration.class,
+    name = "org.springframework.boot.micrometer.metrics.autoconfigure.CompositeMeterRegistryAutoConfiguration")
 public class ZeabayKafkaAutoConfiguration {
 
+  private static final String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+  private static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
   private final String bootstrapServers;
+  private final String applicationName;
 
   public ZeabayKafkaAutoConfiguration(Environment env) {
     this.bootstrapServers = env.getProperty("spring.kafka.bootstrap-servers", "localhost:9092");
+    this.applicationName = env.getProperty("spring.application.name", "zeabay");
   }
 
   /**
@@ -69,10 +116,37 @@ public class ZeabayKafkaAutoConfiguration {
     return admin;
   }
 
-  /** Creates a Kafka producer factory with idempotent delivery and configurable retry settings. */
+  /**
+   * Registers the built-in Jackson codecs (JSON always; Smile and CBOR when their dataformat
+   * modules are on the classpath) plus any {@link EventCodec} beans declared by the application.
+   */
+  @Bean
+  @ConditionalOnMissingBean
+  public EventCodecRegistry zeabayEventCodecRegistry(
+      ObjectMapper objectMapper,
+      ObjectProvider<EventCodec> customCodecs,
+      ZeabayKafkaProperties props) {
+    ClassLoader classLoader = getClass().getClassLoader();
+    List<EventCodec> codecs = new ArrayList<>();
+    codecs.add(JacksonEventCodec.json(objectMapper));
+    if (ClassUtils.isPresent(SMILE_FACTORY, classLoader)) {
+      codecs.add(JacksonEventCodec.smile(objectMapper));
+    }
+    if (ClassUtils.isPresent(CBOR_FACTORY, classLoader)) {
+      codecs.add(JacksonEventCodec.cbor(objectMapper));
+    }
+    customCodecs.orderedStream().forEach(codecs::add);
+    return new EventCodecRegistry(codecs, props.getCodec());
+  }
+
+  /**
+   * Creates a Kafka producer factory with idempotent delivery, configurable retry settings, and
+   * per-topic value encoding.
+   */
   @Bean
   @ConditionalOnMissingBean
-  public ProducerFactory<String, Object> zeabayKafkaProducerFactory(ZeabayKafkaProperties props) {
+  public ProducerFactory<String, Object> zeabayKafkaProducerFactory(
+      ZeabayKafkaProperties props, EventCodecRegistry zeabayEventCodecRegistry) {
     ZeabayKafkaProperties.Producer p = props.getProducer();
     Map<String, Object> config =
         Map.of(
@@ -80,10 +154,9 @@ public class ZeabayKafkaAutoConfiguration {
             ProducerConfig.ACKS_CONFIG, p.getAcks(),
             ProducerConfig.RETRIES_CONFIG, p.getRetries(),
             ProducerConfig.RETRY_BACKOFF_MS_CONFIG, p.getRetryBackoffMs(),
-            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, p.isEnableIdempotence(),
-            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
-            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-    return new DefaultKafkaProducerFactory<>(config);
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, p.isEnableIdempotence());
+    return new DefaultKafkaProducerFactory<>(
+        config, new StringSerializer(), new ZeabayEventSerializer(zeabayEventCodecRegistry));
   }
 
   /** Creates an observation-enabled Kafka template for publishing messages. */
@@ -96,26 +169,38 @@ public class ZeabayKafkaAutoConfiguration {
     return template;
   }
 
-  /** Creates a Kafka consumer factory with manual commit and configurable polling settings. */
+  /**
+   * Creates a Kafka consumer factory with manual commit, configurable polling settings and the
+   * configured partition assignment strategy.
+   */
   @Bean
   @ConditionalOnMissingBean
   public ConsumerFactory<String, Object> zeabayKafkaConsumerFactory(ZeabayKafkaProperties props) {
     ZeabayKafkaProperties.Consumer c = props.getConsumer();
-    Map<String, Object> config =
-        Map.of(
-            ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,
-            bootstrapServers,
-            ConsumerConfig.AUTO_OFFSET_RESET_CONFIG,
-            c.getAutoOffsetReset(),
-            ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
-            c.getMaxPollRecords(),
-            ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG,
-            c.isEnableAutoCommit(),
-            ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
-            StringDeserializer.class,
-            ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
-            StringDeserializer.class);
-    return new DefaultKafkaConsumerFactory<>(config);
+    ZeabayKafkaProperties.Rebalance rebalance = c.getRebalance();
+    Map<String, Object> config = new HashMap<>();
+    config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, c.getAutoOffsetReset());
+    config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, c.getMaxPollRecords());
+    config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, c.isEnableAutoCommit());
+    switch (rebalance.getAssignmentStrategy()) {
+      case UPGRADING ->
+          config.put(
+              ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG,
+              List.of(CooperativeStickyAssignor.class.getName(), RangeAssignor.class.getName()));
+      case COOPERATIVE ->
+          config.put(
+              ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG,
+              List.of(CooperativeStickyAssignor.class.getName()));
+      case EAGER -> {}
+    }
+    if (rebalance.getSessionTimeout() != null) {
+      config.put(
+          ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG,
+          (int) rebalance.getSessionTimeout().toMillis());
+    }
+    return new DefaultKafkaConsumerFactory<>(
+        config, new StringDeserializer(), new ZeabayEventDeserializer());
   }
 
   /** Routes failed messages to a topic with the configured DLQ suffix. */
@@ -139,8 +224,53 @@ public class ZeabayKafkaAutoConfiguration {
   }
 
   /**
-   * Creates the listener container factory with POJO message conversion, traceparent propagation,
-   * observability, and dead-letter error handling.
+   * Routes failed records through tiered delay topics with exponential backoff instead of blocking
+   * the partition, ending on the configured DLQ suffix.
+   *
+   * <p>Retry listeners are created from {@code zeabayKafkaListenerContainerFactory}, so the
+   * traceparent interceptor and POJO conversion apply unchanged. Forwarded records keep their
+   * original headers and payload, which means the inbox still deduplicates on {@code eventId}.
+   */
+  @Bean
+  @ConditionalOnMissingBean(RetryTopicConfiguration.class)
+  @ConditionalOnProperty(name = "zeabay.kafka.dlq.non-blocking.enabled", havingValue = "true")
+  public RetryTopicConfiguration zeabayRetryTopicConfiguration(
+      KafkaTemplate<String, Object> template, ZeabayKafkaProperties props) {
+
+    ZeabayKafkaProperties.Dlq dlqProps = props.getDlq();
+    ZeabayKafkaProperties.NonBlocking nb = dlqProps.getNonBlocking();
+
+    RetryTopicConfigurationBuilder builder =
+        RetryTopicConfigurationBuilder.newInstance()
+            .maxAttempts(dlqProps.getMaxAttempts())
+            .exponentialBackoff(
+                nb.getInitialDelay().toMillis(), nb.getMultiplier(), nb.getMaxDelay().toMillis())
+            .retryTopicSuffix(nb.getRetrySuffix())
+            .dltSuffix(dlqProps.getSuffix())
+            .setTopicSuffixingStrategy(TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE)
+            .autoCreateTopicsWith(nb.getPartitions(), nb.getReplicationFactor())
+            .listenerFactory("zeabayKafkaListenerContainerFactory");
+
+    if (!dlqProps.isEnabled()) {
+      builder.doNotConfigureDlt();
+    }
+
+    log.info(
+        "Kafka non-blocking retry enabled: maxAttempts={}, initialDelay={}, maxDelay={}",
+        dlqProps.getMaxAttempts(),
+        nb.getInitialDelay(),
+        nb.getMaxDelay());
+    return builder.create(template);
+  }
+
+  /**
+   * Creates the listener container factory with POJO message conversion, claim-check resolution
+   * (when a {@link ClaimCheckStore} bean exists), traceparent propagation, observability, and
+   * dead-letter error handling.
+   *
+   * <p>Stopping containers finish and commit their current poll batch within {@code
+   * zeabay.kafka.consumer.rebalance.shutdown-timeout}. With static membership each container gets
+   * its own {@code group.instance.id}; Spring appends {@code -<n>} per concurrent consumer.
    */
   @Bean
   @ConditionalOnMissingBean
@@ -148,16 +278,107 @@ public class ZeabayKafkaAutoConfiguration {
       zeabayKafkaListenerContainerFactory(
           ConsumerFactory<String, Object> zeabayKafkaConsumerFactory,
           ObjectMapper objectMapper,
-          DefaultErrorHandler kafkaErrorHandler) {
+          EventCodecRegistry zeabayEventCodecRegistry,
+          ObjectProvider<ClaimCheckStore> claimCheckStore,
+          DefaultErrorHandler kafkaErrorHandler,
+          ZeabayKafkaProperties props) {
 
     ConcurrentKafkaListenerContainerFactory<String, Object> factory =
         new ConcurrentKafkaListenerContainerFactory<>();
     factory.setConsumerFactory(zeabayKafkaConsumerFactory);
-    factory.setRecordMessageConverter(new MapToPojoRecordMessageConverter(objectMapper));
-    factory.setRecordInterceptor(new TraceparentRecordInterceptor<>());
+    factory.setRecordMessageConverter(
+        new MapToPojoRecordMessageConverter(
+            objectMapper, zeabayEventCodecRegistry, claimCheckStore.getIfAvailable()));
+    factory.setRecordInterceptor(
+        new CompositeRecordInterceptor<>(
+            new TraceparentRecordInterceptor<>(), new EventTimingRecordInterceptor<>()));
     factory.getContainerProperties().setObservationEnabled(true);
     factory.setCommonErrorHandler(kafkaErrorHandler);
 
+    ZeabayKafkaProperties.Rebalance rebalance = props.getConsumer().getRebalance();
+    factory.getContainerProperties().setShutdownTimeout(rebalance.getShutdownTimeout().toMillis());
+    factory.getContainerProperties().setConsumerRebalanceListener(new ZeabayRebalanceListener());
+    if (rebalance.isStaticMembership()) {
+      configureStaticMembership(factory);
+    }
+
     return factory;
   }
+
+  private void configureStaticMembership(
+      ConcurrentKafkaListenerContainerFactory<String, Object> factory) {
+    Integer ordinal = TsidNodeIdResolver.resolveOrdinal();
+    if (ordinal == null) {
+      log.warn("Kafka static membership skipped: hostname has no trailing ordinal");
+      return;
+    }
+    String instancePrefix = applicationName + "-" + ordinal;
+    factory.setContainerCustomizer(
+        container -> {
+          // Container properties share the factory's consumer Properties: copy before writing
+          Properties consumerProps = new Properties();
+          consumerProps.putAll(container.getContainerProperties().getKafkaConsumerProperties());
+          consumerProps.setProperty(
+              ConsumerConfig.GROUP_INSTANCE_ID_CONFIG,
+              instancePrefix + "-" + container.getListenerId());
+          container.getContainerProperties().setKafkaConsumerProperties(consumerProps);
+        });
+    log.info("Kafka static membership enabled: group.instance.id prefix={}", instancePrefix);
+  }
+
+  /**
+   * Counts in-flight events reported by {@code BaseConsumer}; saturates at {@code
+   * zeabay.kafka.backpressure.max-in-flight} when that is positive.
+   */
+  @Bean
+  @ConditionalOnMissingBean
+  public InFlightEventSignal zeabayInFlightEventSignal(ZeabayKafkaProperties props) {
+    ZeabayKafkaProperties.Backpressure bp = props.getBackpressure();
+    return new InFlightEventSignal(bp.getMaxInFlight(), bp.getResumeInFlight());
+  }
+
+  /** Pauses and resumes all listener containers based on the registered backpressure signals. */
+  @Bean
+  @ConditionalOnMissingBean
+  @ConditionalOnProperty(name = "zeabay.kafka.backpressure.enabled", havingValue = "true")
+  public KafkaBackpressureController zeabayKafkaBackpressureController(
+      KafkaListenerEndpointRegistry registry,
+      ObjectProvider<BackpressureSignal> signals,
+      ZeabayKafkaProperties props) {
+    return new KafkaBackpressureController(
+        registry, signals.orderedStream().toList(), props.getBackpressure().getCheckInterval());
+  }
+
+  /** Micrometer-dependent beans, kept apart so the module works without Micrometer. */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(MeterRegistry.class)
+  static class ZeabayKafkaMetricsConfiguration {
+
+    /** Publishes {@code zeabay.kafka.consumer.lag} gauges for all listener consumer groups. */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        name = "zeabay.kafka.lag.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+    public KafkaConsumerLagMonitor zeabayKafkaConsumerLagMonitor(
+        KafkaAdmin kafkaAdmin,
+        KafkaListenerEndpointRegistry registry,
+        ObjectProvider<MeterRegistry> meterRegistry,
+        ZeabayKafkaProperties props) {
+      return new KafkaConsumerLagMonitor(
+          kafkaAdmin, registry, meterRegistry, props.getLag().getInterval());
+    }
+
+    /**
+     * Records the {@code zeabay.event.latency} timers reported by {@code BaseConsumer} from the
+     * outbox timestamp headers.
+     */
+    @Bean
+    @ConditionalOnMissingBean(EventLatencyRecorder.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    public MicrometerEventLatencyRecorder zeabayEventLatencyRecorder(MeterRegistry meterRegistry) {
+      return new MicrometerEventLatencyRecorder(meterRegistry);
+    }
+  }
 }
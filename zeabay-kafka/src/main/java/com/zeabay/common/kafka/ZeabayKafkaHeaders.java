@@ -0,0 +1,54 @@
+package com.zeabay.common.kafka;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import lombok.experimental.UtilityClass;
+
+/** Kafka record header names shared by Zeabay producers and consumers. */
+@UtilityClass
+public class ZeabayKafkaHeaders {
+
+  /** W3C trace context header carrying the trace ID across services. */
+  public static final String TRACEPARENT = "traceparent";
+
+  /**
+   * Content type of the record value (e.g. {@code application/x-jackson-smile}). Records without
+   * this header are treated as JSON.
+   */
+  public static final String CONTENT_TYPE = "zeabay-content-type";
+
+  /**
+   * Claim-check reference (e.g. {@code s3://bucket/key}) of a payload stored outside Kafka. Records
+   * carrying this header have an empty value.
+   */
+  public static final String CLAIM_CHECK = "zeabay-claim-check";
+
+  /**
+   * Number of events packed into a batched record. Its presence marks the value as a JSON array
+   * envelope rather than a single event.
+   */
+  public static final String BATCH_SIZE = "zeabay-batch-size";
+
+  /** Epoch millis at which the event was written to the outbox (oldest event for envelopes). */
+  public static final String PRODUCED_AT = "zeabay-produced-at";
+
+  /** Epoch millis at which the outbox publisher handed the record to the Kafka producer. */
+  public static final String PUBLISHED_AT = "zeabay-published-at";
+
+  /** {@code spring.application.name} of the producing service. */
+  public static final String PRODUCED_FROM = "zeabay-produced-from";
+
+  /**
+   * Returns the last value of the given header decoded as UTF-8, or {@code null} if it is absent or
+   * empty.
+   */
+  public static String lastValue(Headers headers, String name) {
+    if (headers == null) return null;
+    Header header = headers.lastHeader(name);
+    if (header == null || header.value() == null || header.value().length == 0) return null;
+    return new String(header.value(), StandardCharsets.UTF_8);
+  }
+}
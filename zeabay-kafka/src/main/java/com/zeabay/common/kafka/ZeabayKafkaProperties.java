@@ -1,5 +1,9 @@
 package com.zeabay.common.kafka;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import lombok.Data;
@@ -18,6 +22,9 @@ public class ZeabayKafkaProperties {
   private Producer producer = new Producer();
   private Consumer consumer = new Consumer();
   private Dlq dlq = new Dlq();
+  private Codec codec = new Codec();
+  private Lag lag = new Lag();
+  private Backpressure backpressure = new Backpressure();
 
   /** Kafka producer tuning parameters. */
   @Data
@@ -34,6 +41,45 @@ public class ZeabayKafkaProperties {
     private String autoOffsetReset = "earliest";
     private int maxPollRecords = 100;
     private boolean enableAutoCommit = false;
+    private Rebalance rebalance = new Rebalance();
+  }
+
+  /**
+   * Consumer group membership and rebalance behaviour.
+   *
+   * <p>Moving a running group to cooperative assignment takes two rolling deploys: first {@code
+   * UPGRADING} (both assignors, still eager), then {@code COOPERATIVE}. Jumping straight from
+   * {@code EAGER} to {@code COOPERATIVE} makes new members fail to join next to old ones.
+   */
+  @Data
+  public static class Rebalance {
+    private AssignmentStrategy assignmentStrategy = AssignmentStrategy.EAGER;
+
+    /**
+     * Sets {@code group.instance.id} to {@code <application>-<ordinal>-<listenerId>} so a restarted
+     * pod reclaims its partitions without a rebalance. Requires StatefulSet-style hostnames ({@code
+     * name-<ordinal>}); otherwise it is skipped with a warning.
+     */
+    private boolean staticMembership = false;
+
+    /**
+     * Broker-side session timeout; {@code null} keeps the client default (45s). With static
+     * membership, set it above the typical pod restart time.
+     */
+    private Duration sessionTimeout;
+
+    /** Time a stopping container waits for the in-flight poll batch to finish and commit. */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+  }
+
+  /** Partition assignment strategy of the listener consumers. */
+  public enum AssignmentStrategy {
+    /** Kafka default range assignor; every rebalance revokes all partitions. */
+    EAGER,
+    /** Cooperative-sticky and range assignors together; intermediate step of the upgrade. */
+    UPGRADING,
+    /** Cooperative-sticky assignor; only moved partitions are revoked. */
+    COOPERATIVE
   }
 
   /** Dead-letter queue (DLQ) configuration for error handling logic. */
@@ -42,5 +88,72 @@ public class ZeabayKafkaProperties {
     private boolean enabled = true;
     private String suffix = ".dlq";
     private int maxAttempts = 5;
+    private NonBlocking nonBlocking = new NonBlocking();
+  }
+
+  /**
+   * Non-blocking retry via delay topics. When enabled, a failing record is forwarded to {@code
+   * <topic><retrySuffix>-<n>} and retried out of band with exponential backoff, so the main
+   * partition keeps flowing. Records that exhaust {@link Dlq#getMaxAttempts()} land on {@code
+   * <topic><dlq.suffix>}.
+   */
+  @Data
+  public static class NonBlocking {
+    private boolean enabled = false;
+    private String retrySuffix = ".retry";
+    private Duration initialDelay = Duration.ofSeconds(1);
+    private double multiplier = 2.0;
+    private Duration maxDelay = Duration.ofSeconds(30);
+
+    /** Partitions for auto-created retry and DLQ topics. */
+    private int partitions = 1;
+
+    /** Replication factor for auto-created retry and DLQ topics; {@code -1} uses broker default. */
+    private short replicationFactor = -1;
+  }
+
+  /**
+   * Wire format of record values. Topics not listed under {@code topics} use {@code
+   * defaultContentType}. Binary formats require the matching {@code jackson-dataformat-*} module
+   * on the classpath of both producer and consumer.
+   *
+   * <pre>
+   * zeabay:
+   *   kafka:
+   *     codec:
+   *       topics:
+   *         telemetry.events: application/x-jackson-smile
+   * </pre>
+   */
+  @Data
+  public static class Codec {
+    private String defaultContentType = "application/json";
+    private Map<String, String> topics = new HashMap<>();
+  }
+
+  /**
+   * Committed-offset lag gauges ({@code zeabay.kafka.consumer.lag}, tagged by group, topic and
+   * partition) for the groups of all listener containers. Requires a {@code MeterRegistry} bean.
+   */
+  @Data
+  public static class Lag {
+    private boolean enabled = true;
+    private Duration interval = Duration.ofSeconds(30);
+  }
+
+  /**
+   * Pauses all listener containers while any {@code BackpressureSignal} reports saturation and
+   * resumes them once every signal has relieved.
+   */
+  @Data
+  public static class Backpressure {
+    private boolean enabled = false;
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    /** In-flight event count that pauses consumption; {@code 0} disables the built-in signal. */
+    private int maxInFlight = 0;
+
+    /** In-flight event count below which consumption resumes; {@code 0} uses half the maximum. */
+    private int resumeInFlight = 0;
   }
 }
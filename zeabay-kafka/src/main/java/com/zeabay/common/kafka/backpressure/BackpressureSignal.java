@@ -0,0 +1,22 @@
+package com.zeabay.common.kafka.backpressure;
+
+/**
+ * Downstream saturation signal consulted by {@link KafkaBackpressureController}. Declare a bean of
+ * this type to make Kafka consumption pause while a resource behind the listeners is exhausted.
+ *
+ * <p>Implementations should use separate pause and resume thresholds so that consumption does not
+ * flap around a single value.
+ */
+public interface BackpressureSignal {
+
+  /** Short name used in logs (e.g. {@code r2dbc-pool}). */
+  String name();
+
+  /** Returns {@code true} when consumption should be paused. Called from a single thread. */
+  boolean isSaturated();
+
+  /** Returns {@code true} when paused consumption may resume. Called from a single thread. */
+  default boolean isRelieved() {
+    return !isSaturated();
+  }
+}
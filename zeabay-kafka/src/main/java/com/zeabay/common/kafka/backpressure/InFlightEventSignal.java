@@ -0,0 +1,54 @@
+package com.zeabay.common.kafka.backpressure;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts consumed events whose processing has started but not finished. {@code BaseConsumer}
+ * reports to it around {@code processEvent}, so asynchronous processing is counted until its
+ * {@code Mono} terminates, not just while the listener method runs.
+ */
+public class InFlightEventSignal implements BackpressureSignal {
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final int pauseAt;
+  private final int resumeBelow;
+
+  /**
+   * @param pauseAt in-flight count at which consumption pauses; {@code 0} or less never pauses
+   * @param resumeBelow in-flight count below which consumption resumes (capped at {@code pauseAt});
+   *     {@code 0} or less uses half of {@code pauseAt}
+   */
+  public InFlightEventSignal(int pauseAt, int resumeBelow) {
+    this.pauseAt = pauseAt;
+    this.resumeBelow = resumeBelow > 0 ? Math.min(resumeBelow, pauseAt) : Math.max(1, pauseAt / 2);
+  }
+
+  /** Marks the start of an event's processing. */
+  public void begin() {
+    inFlight.incrementAndGet();
+  }
+
+  /** Marks the end of an event's processing, successful or not. */
+  public void end() {
+    inFlight.decrementAndGet();
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  @Override
+  public String name() {
+    return "in-flight";
+  }
+
+  @Override
+  public boolean isSaturated() {
+    return pauseAt > 0 && inFlight.get() >= pauseAt;
+  }
+
+  @Override
+  public boolean isRelieved() {
+    return pauseAt <= 0 || inFlight.get() < resumeBelow;
+  }
+}
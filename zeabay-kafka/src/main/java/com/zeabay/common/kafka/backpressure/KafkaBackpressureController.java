@@ -0,0 +1,108 @@
+package com.zeabay.common.kafka.backpressure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically evaluates the registered {@link BackpressureSignal}s and pauses every listener
+ * container while any of them is saturated. Consumption resumes once all signals report relief.
+ * Only containers this controller paused are resumed; those the application had already paused
+ * are left alone.
+ *
+ * <p>Paused containers keep calling {@code poll()} without fetching, so group membership and
+ * partition ownership survive the pause; committed offsets stop advancing, which surfaces as lag.
+ */
+@Slf4j
+public class KafkaBackpressureController implements SmartLifecycle {
+
+  private final KafkaListenerEndpointRegistry registry;
+  private final List<BackpressureSignal> signals;
+  private final Duration checkInterval;
+
+  /** Containers paused by this controller; only touched by the scheduler thread. */
+  private final List<MessageListenerContainer> pausedContainers = new ArrayList<>();
+
+  private ScheduledExecutorService scheduler;
+  private volatile boolean paused;
+
+  public KafkaBackpressureController(
+      KafkaListenerEndpointRegistry registry,
+      List<BackpressureSignal> signals,
+      Duration checkInterval) {
+    this.registry = registry;
+    this.signals = List.copyOf(signals);
+    this.checkInterval = checkInterval;
+  }
+
+  public boolean isPaused() {
+    return paused;
+  }
+
+  void check() {
+    try {
+      if (!paused) {
+        for (BackpressureSignal signal : signals) {
+          if (signal.isSaturated()) {
+            log.warn("Kafka consumption paused: backpressure signal '{}' saturated", signal.name());
+            for (MessageListenerContainer container : registry.getAllListenerContainers()) {
+              if (container.isPauseRequested()) continue;
+              container.pause();
+              pausedContainers.add(container);
+            }
+            paused = true;
+            return;
+          }
+        }
+      } else if (signals.stream().allMatch(BackpressureSignal::isRelieved)) {
+        log.info("Kafka consumption resumed: all backpressure signals relieved");
+        pausedContainers.forEach(MessageListenerContainer::resume);
+        pausedContainers.clear();
+        paused = false;
+      }
+    } catch (RuntimeException e) {
+      log.warn("Backpressure check failed: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void start() {
+    if (signals.isEmpty()) {
+      log.info("Kafka backpressure enabled without signals; nothing to watch");
+      return;
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("zeabay-kafka-backpressure").daemon().unstarted(r));
+    long millis = checkInterval.toMillis();
+    scheduler.scheduleWithFixedDelay(this::check, millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  /** Starts after the listener containers so that the first pause has something to act on. */
+  @Override
+  public int getPhase() {
+    return Integer.MAX_VALUE - 50;
+  }
+}
@@ -0,0 +1,42 @@
+package com.zeabay.common.kafka.codec;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes Kafka event payloads for a single wire format.
+ *
+ * <p>Codecs are selected per topic on the producer side via {@code zeabay.kafka.codec.topics} and
+ * auto-detected on the consumer side from the {@link
+ * com.zeabay.common.kafka.ZeabayKafkaHeaders#CONTENT_TYPE} header. Expose an implementation as a
+ * Spring bean to register an additional format with {@link EventCodecRegistry}.
+ */
+public interface EventCodec {
+
+  /** MIME type written to the content-type header (e.g. {@code application/cbor}). */
+  String contentType();
+
+  /**
+   * Serializes an event object.
+   *
+   * @param value the event to encode
+   * @return the encoded bytes
+   */
+  byte[] encode(Object value) throws IOException;
+
+  /**
+   * Re-encodes an already serialized JSON document (e.g. an outbox payload) into this format.
+   *
+   * @param json the JSON document
+   * @return the encoded bytes
+   */
+  byte[] transcode(String json) throws IOException;
+
+  /**
+   * Deserializes encoded bytes into the requested type.
+   *
+   * @param data the encoded payload
+   * @param type the target type
+   * @return the decoded value
+   */
+  <T> T decode(byte[] data, Class<T> type) throws IOException;
+}
@@ -0,0 +1,67 @@
+package com.zeabay.common.kafka.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+
+import com.zeabay.common.kafka.ZeabayKafkaHeaders;
+import com.zeabay.common.kafka.ZeabayKafkaProperties;
+
+/**
+ * Resolves the {@link EventCodec} to use for a topic (producer side) or for a received record
+ * (consumer side).
+ *
+ * <p>Rollout is per topic: upgrade consumers first (they auto-detect the format from the {@link
+ * ZeabayKafkaHeaders#CONTENT_TYPE} header), then switch the producer's entry under {@code
+ * zeabay.kafka.codec.topics}.
+ */
+public class EventCodecRegistry {
+
+  private final Map<String, EventCodec> byContentType = new HashMap<>();
+  private final Map<String, EventCodec> byTopic = new HashMap<>();
+  private final EventCodec json;
+  private final EventCodec defaultCodec;
+
+  public EventCodecRegistry(List<EventCodec> codecs, ZeabayKafkaProperties.Codec props) {
+    for (EventCodec codec : codecs) {
+      byContentType.put(normalize(codec.contentType()), codec);
+    }
+    this.json = require(JacksonEventCodec.JSON);
+    this.defaultCodec = require(props.getDefaultContentType());
+    props.getTopics().forEach((topic, contentType) -> byTopic.put(topic, require(contentType)));
+  }
+
+  private static String normalize(String contentType) {
+    return contentType.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private EventCodec require(String contentType) {
+    EventCodec codec = byContentType.get(normalize(contentType));
+    if (codec == null) {
+      throw new IllegalStateException(
+          "No EventCodec registered for content type '"
+              + contentType
+              + "' (is the Jackson dataformat module on the classpath?)");
+    }
+    return codec;
+  }
+
+  /** Codec used to write records to the given topic. */
+  public EventCodec forTopic(String topic) {
+    return byTopic.getOrDefault(topic, defaultCodec);
+  }
+
+  /** Codec matching the record's content-type header; JSON when the header is absent. */
+  public EventCodec forHeaders(Headers headers) {
+    String contentType = ZeabayKafkaHeaders.lastValue(headers, ZeabayKafkaHeaders.CONTENT_TYPE);
+    return contentType != null ? require(contentType) : json;
+  }
+
+  /** Returns {@code true} if the codec writes plain JSON text. */
+  public static boolean isJson(EventCodec codec) {
+    return JacksonEventCodec.JSON.equals(codec.contentType());
+  }
+}
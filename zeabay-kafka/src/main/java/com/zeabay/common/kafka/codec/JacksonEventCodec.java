@@ -0,0 +1,93 @@
+package com.zeabay.common.kafka.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * {@link EventCodec} backed by a Jackson {@link ObjectMapper}. Binary formats (Smile, CBOR) are
+ * derived from the centralized mapper, so naming strategy, modules, and date handling stay
+ * identical to JSON and event classes need no changes.
+ */
+public final class JacksonEventCodec implements EventCodec {
+
+  public static final String JSON = "application/json";
+  public static final String SMILE = "application/x-jackson-smile";
+  public static final String CBOR = "application/cbor";
+
+  private final String contentType;
+  private final ObjectMapper mapper;
+  private final JsonFactory jsonFactory;
+
+  private JacksonEventCodec(String contentType, ObjectMapper mapper, JsonFactory jsonFactory) {
+    this.contentType = contentType;
+    this.mapper = mapper;
+    this.jsonFactory = jsonFactory;
+  }
+
+  /** Plain JSON codec using the given mapper as-is. */
+  public static JacksonEventCodec json(ObjectMapper base) {
+    return new JacksonEventCodec(JSON, base, base.getFactory());
+  }
+
+  /** Smile (binary JSON) codec. Requires {@code jackson-dataformat-smile} on the classpath. */
+  public static JacksonEventCodec smile(ObjectMapper base) {
+    return new JacksonEventCodec(SMILE, base.copyWith(SmileSupport.factory()), base.getFactory());
+  }
+
+  /** CBOR codec. Requires {@code jackson-dataformat-cbor} on the classpath. */
+  public static JacksonEventCodec cbor(ObjectMapper base) {
+    return new JacksonEventCodec(CBOR, base.copyWith(CborSupport.factory()), base.getFactory());
+  }
+
+  @Override
+  public String contentType() {
+    return contentType;
+  }
+
+  @Override
+  public byte[] encode(Object value) throws IOException {
+    return mapper.writeValueAsBytes(value);
+  }
+
+  /** Streams tokens from the JSON parser straight into the target generator without a tree. */
+  @Override
+  public byte[] transcode(String json) throws IOException {
+    if (JSON.equals(contentType)) return json.getBytes(StandardCharsets.UTF_8);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(json.length());
+    try (JsonParser parser = jsonFactory.createParser(json);
+        JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+      parser.nextToken();
+      generator.copyCurrentStructure(parser);
+    }
+    return out.toByteArray();
+  }
+
+  @Override
+  public <T> T decode(byte[] data, Class<T> type) throws IOException {
+    return mapper.readValue(data, type);
+  }
+
+  // Format factories live in holder classes so this class still loads (and verifies) when the
+  // optional dataformat modules are absent.
+
+  private static final class SmileSupport {
+    static JsonFactory factory() {
+      return new SmileFactory();
+    }
+  }
+
+  private static final class CborSupport {
+    static JsonFactory factory() {
+      return new CBORFactory();
+    }
+  }
+}
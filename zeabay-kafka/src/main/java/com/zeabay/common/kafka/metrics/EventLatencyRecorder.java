@@ -0,0 +1,17 @@
+package com.zeabay.common.kafka.metrics;
+
+/**
+ * Records the outbox-to-inbox latency breakdown of a processed event. Kept free of Micrometer
+ * types so consumers can depend on it whether or not Micrometer is on the classpath.
+ */
+public interface EventLatencyRecorder {
+
+  /**
+   * Records the commit-to-publish, publish-to-consume and consume-to-processed stages of an event
+   * whose processing has just completed.
+   *
+   * @param eventType logical event type
+   * @param timing timestamps captured when the record was consumed
+   */
+  void recordProcessed(String eventType, EventTiming timing);
+}
@@ -0,0 +1,31 @@
+package com.zeabay.common.kafka.metrics;
+
+/**
+ * Timestamps of one consumed record, captured from the outbox headers when the record reaches the
+ * listener. Bound to the listener thread by {@code EventTimingRecordInterceptor} for the duration
+ * of the listener call.
+ *
+ * @param producedAt epoch millis of the outbox insert, or {@code -1} if the header is absent
+ * @param publishedAt epoch millis of the outbox publish, or {@code -1} if the header is absent
+ * @param consumedAt epoch millis at which the record reached the listener
+ * @param consumedNanos {@link System#nanoTime()} at which the record reached the listener
+ * @param producedFrom producing service, or {@code "unknown"} if the header is absent
+ */
+public record EventTiming(
+    long producedAt, long publishedAt, long consumedAt, long consumedNanos, String producedFrom) {
+
+  private static final ThreadLocal<EventTiming> CURRENT = new ThreadLocal<>();
+
+  /** Returns the timing of the record being handled on this thread, or {@code null}. */
+  public static EventTiming current() {
+    return CURRENT.get();
+  }
+
+  public static void bind(EventTiming timing) {
+    CURRENT.set(timing);
+  }
+
+  public static void clear() {
+    CURRENT.remove();
+  }
+}
@@ -0,0 +1,143 @@
+package com.zeabay.common.kafka.metrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes the committed-offset lag of every listener container's consumer group as the gauge
+ * {@code zeabay.kafka.consumer.lag{group,topic,partition}}.
+ *
+ * <p>Lag is computed from the broker's view (log end offset minus committed offset) with one admin
+ * client, so it is also reported while containers are paused or partitions are unassigned, which
+ * makes it usable as an autoscaling signal. Nothing is polled when no {@link MeterRegistry} bean
+ * exists.
+ */
+@Slf4j
+public class KafkaConsumerLagMonitor implements SmartLifecycle {
+
+  private static final String METRIC = "zeabay.kafka.consumer.lag";
+
+  private final KafkaAdmin kafkaAdmin;
+  private final KafkaListenerEndpointRegistry registry;
+  private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+  private final Duration interval;
+  private final Map<TopicPartitionGroup, AtomicLong> lags = new ConcurrentHashMap<>();
+
+  private ScheduledExecutorService scheduler;
+  private AdminClient adminClient;
+  private MeterRegistry meterRegistry;
+
+  public KafkaConsumerLagMonitor(
+      KafkaAdmin kafkaAdmin,
+      KafkaListenerEndpointRegistry registry,
+      ObjectProvider<MeterRegistry> meterRegistryProvider,
+      Duration interval) {
+    this.kafkaAdmin = kafkaAdmin;
+    this.registry = registry;
+    this.meterRegistryProvider = meterRegistryProvider;
+    this.interval = interval;
+  }
+
+  void refresh() {
+    Set<String> groups = new LinkedHashSet<>();
+    for (MessageListenerContainer container : registry.getAllListenerContainers()) {
+      if (container.getGroupId() != null) groups.add(container.getGroupId());
+    }
+    for (String group : groups) {
+      try {
+        refreshGroup(group);
+      } catch (Exception e) {
+        log.warn("Kafka lag refresh failed: group={}, error={}", group, e.getMessage());
+      }
+    }
+  }
+
+  private void refreshGroup(String group) throws Exception {
+    Map<TopicPartition, OffsetAndMetadata> committed =
+        adminClient.listConsumerGroupOffsets(group).partitionsToOffsetAndMetadata().get();
+    if (committed.isEmpty()) return;
+
+    Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+    committed.keySet().forEach(tp -> request.put(tp, OffsetSpec.latest()));
+    Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends =
+        adminClient.listOffsets(request).all().get();
+
+    committed.forEach(
+        (tp, offset) -> {
+          ListOffsetsResult.ListOffsetsResultInfo end = ends.get(tp);
+          if (offset == null || end == null) return;
+          long lag = Math.max(0, end.offset() - offset.offset());
+          lags.computeIfAbsent(
+                  new TopicPartitionGroup(group, tp.topic(), tp.partition()), this::register)
+              .set(lag);
+        });
+  }
+
+  private AtomicLong register(TopicPartitionGroup key) {
+    AtomicLong value = new AtomicLong();
+    Gauge.builder(METRIC, value, AtomicLong::get)
+        .description("Committed-offset lag of a consumer group partition")
+        .tag("group", key.group())
+        .tag("topic", key.topic())
+        .tag("partition", String.valueOf(key.partition()))
+        .register(meterRegistry);
+    return value;
+  }
+
+  @Override
+  public void start() {
+    meterRegistry = meterRegistryProvider.getIfAvailable();
+    if (meterRegistry == null) {
+      log.debug("Kafka lag monitor inactive: no MeterRegistry bean");
+      return;
+    }
+    adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("zeabay-kafka-lag").daemon().unstarted(r));
+    long millis = interval.toMillis();
+    scheduler.scheduleWithFixedDelay(this::refresh, millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+    if (adminClient != null) {
+      adminClient.close(Duration.ofSeconds(5));
+      adminClient = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  private record TopicPartitionGroup(String group, String topic, int partition) {}
+}
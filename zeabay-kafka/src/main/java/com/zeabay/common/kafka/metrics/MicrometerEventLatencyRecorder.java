@@ -0,0 +1,61 @@
+package com.zeabay.common.kafka.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes the latency breakdown as the histogram timer {@code zeabay.event.latency} tagged with
+ * {@code stage} ({@code commit-to-publish}, {@code publish-to-consume}, {@code
+ * consume-to-processed}), {@code event_type} and {@code producer}.
+ *
+ * <p>The first two stages compare wall clocks of different hosts, so they are only as accurate as
+ * the clock synchronisation between producer, publisher and consumer; negative skew is clamped to
+ * zero.
+ */
+@RequiredArgsConstructor
+public class MicrometerEventLatencyRecorder implements EventLatencyRecorder {
+
+  private static final String METRIC = "zeabay.event.latency";
+
+  private final MeterRegistry registry;
+  private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+  @Override
+  public void recordProcessed(String eventType, EventTiming timing) {
+    String producer = timing.producedFrom();
+    if (timing.producedAt() >= 0 && timing.publishedAt() >= 0) {
+      record("commit-to-publish", eventType, producer, timing.publishedAt() - timing.producedAt());
+    }
+    if (timing.publishedAt() >= 0) {
+      record("publish-to-consume", eventType, producer, timing.consumedAt() - timing.publishedAt());
+    }
+    timer("consume-to-processed", eventType, producer)
+        .record(System.nanoTime() - timing.consumedNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private void record(String stage, String eventType, String producer, long millis) {
+    timer(stage, eventType, producer).record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+  }
+
+  private Timer timer(String stage, String eventType, String producer) {
+    return timers.computeIfAbsent(
+        new TimerKey(stage, eventType, producer),
+        key ->
+            Timer.builder(METRIC)
+                .description("Outbox-to-inbox event latency by stage")
+                .tag("stage", key.stage())
+                .tag("event_type", key.eventType())
+                .tag("producer", key.producer())
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(registry));
+  }
+
+  private record TimerKey(String stage, String eventType, String producer) {}
+}
@@ -0,0 +1,45 @@
+package com.zeabay.common.kafka.support;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import com.zeabay.common.kafka.ZeabayKafkaHeaders;
+import com.zeabay.common.kafka.metrics.EventTiming;
+
+/**
+ * Binds the record's outbox timestamps ({@link ZeabayKafkaHeaders#PRODUCED_AT}, {@link
+ * ZeabayKafkaHeaders#PUBLISHED_AT}) and the consume time to the listener thread as {@link
+ * EventTiming}, for {@code BaseConsumer} to pick up.
+ */
+public class EventTimingRecordInterceptor<K, V> implements RecordInterceptor<K, V> {
+
+  @Override
+  public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+    String producedFrom =
+        ZeabayKafkaHeaders.lastValue(record.headers(), ZeabayKafkaHeaders.PRODUCED_FROM);
+    EventTiming.bind(
+        new EventTiming(
+            millisHeader(record, ZeabayKafkaHeaders.PRODUCED_AT),
+            millisHeader(record, ZeabayKafkaHeaders.PUBLISHED_AT),
+            System.currentTimeMillis(),
+            System.nanoTime(),
+            producedFrom != null ? producedFrom : "unknown"));
+    return record;
+  }
+
+  @Override
+  public void afterRecord(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+    EventTiming.clear();
+  }
+
+  private static long millisHeader(ConsumerRecord<?, ?> record, String name) {
+    String value = ZeabayKafkaHeaders.lastValue(record.headers(), name);
+    if (value == null) return -1;
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -1,44 +1,114 @@
 package com.zeabay.common.kafka.support;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.support.KafkaNull;
 import org.springframework.kafka.support.converter.MessagingMessageConverter;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import lombok.RequiredArgsConstructor;
+import com.zeabay.common.claimcheck.ClaimCheckStore;
+import com.zeabay.common.kafka.ZeabayKafkaHeaders;
+import com.zeabay.common.kafka.ZeabayKafkaProperties;
+import com.zeabay.common.kafka.codec.EventCodec;
+import com.zeabay.common.kafka.codec.EventCodecRegistry;
+import com.zeabay.common.kafka.codec.JacksonEventCodec;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Converts Kafka consumer payloads (Map or JSON String) into target POJO types for
- * Spring @KafkaListener.
+ * Converts Kafka consumer payloads (Map, JSON String, or codec-encoded bytes) into target POJO
+ * types for Spring @KafkaListener.
+ *
+ * <p>Binary payloads are decoded with the {@link EventCodec} announced by the record's
+ * content-type header, so producers can switch a topic to Smile/CBOR without consumer code changes.
+ *
+ * <p>Records carrying a {@link ZeabayKafkaHeaders#CLAIM_CHECK} header are resolved through the
+ * configured {@link ClaimCheckStore}: the stored JSON is streamed straight into the target type, so
+ * large payloads are never buffered as a whole unless the listener asks for a {@link String}.
+ *
+ * <p>Listeners declaring a {@code List<T>} parameter receive the unpacked elements of a batched
+ * envelope (see {@link ZeabayKafkaHeaders#BATCH_SIZE}), or a singleton list for a plain record, so
+ * a topic can switch to batching without listener changes.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class MapToPojoRecordMessageConverter extends MessagingMessageConverter {
 
   private final ObjectMapper objectMapper;
+  private final EventCodecRegistry codecs;
+  private final ClaimCheckStore claimCheckStore;
+
+  /** Creates a JSON-only converter. */
+  public MapToPojoRecordMessageConverter(ObjectMapper objectMapper) {
+    this(
+        objectMapper,
+        new EventCodecRegistry(
+            List.of(JacksonEventCodec.json(objectMapper)), new ZeabayKafkaProperties.Codec()));
+  }
+
+  public MapToPojoRecordMessageConverter(ObjectMapper objectMapper, EventCodecRegistry codecs) {
+    this(objectMapper, codecs, null);
+  }
+
+  /**
+   * @param claimCheckStore store used to resolve claim-check references; may be {@code null} when
+   *     claim-check is not enabled
+   */
+  public MapToPojoRecordMessageConverter(
+      ObjectMapper objectMapper, EventCodecRegistry codecs, ClaimCheckStore claimCheckStore) {
+    this.objectMapper = objectMapper;
+    this.codecs = codecs;
+    this.claimCheckStore = claimCheckStore;
+  }
 
   /**
-   * Converts the raw Kafka record value ({@link Map} or JSON {@link String}) into the target POJO
-   * type declared in the {@code @KafkaListener} method signature.
+   * Converts the raw Kafka record value ({@link Map}, JSON {@link String}, or encoded {@code
+   * byte[]}) into the target POJO type declared in the {@code @KafkaListener} method signature.
    */
   @Override
   protected Object extractAndConvertValue(ConsumerRecord<?, ?> record, Type type) {
+    String reference =
+        ZeabayKafkaHeaders.lastValue(record.headers(), ZeabayKafkaHeaders.CLAIM_CHECK);
+    if (reference != null) return resolveClaimCheck(reference, type);
+
     Object value = record.value();
 
     if (value == null) return KafkaNull.INSTANCE;
     if (type == null) return value;
 
     Class<?> targetClass = toClass(type);
+    boolean batched = record.headers().lastHeader(ZeabayKafkaHeaders.BATCH_SIZE) != null;
+    if (targetClass == List.class && type instanceof ParameterizedType) {
+      try {
+        return convertList(record, value, type, batched);
+      } catch (Exception e) {
+        log.error("Failed to convert Kafka payload to target type: {}", type, e);
+        throw new IllegalArgumentException("Failed to convert payload to " + type, e);
+      }
+    }
+    if (batched && targetClass != String.class && targetClass != Object.class) {
+      throw new IllegalArgumentException(
+          "Record on topic "
+              + record.topic()
+              + " is a batched envelope; declare the listener parameter as List<"
+              + type.getTypeName()
+              + ">");
+    }
+
     if (targetClass != null && needsConversion(value, targetClass)) {
       try {
         if (value instanceof Map<?, ?> map) return objectMapper.convertValue(map, targetClass);
         if (value instanceof String json) return objectMapper.readValue(json, targetClass);
+        if (value instanceof byte[] bytes) return decode(record, bytes, targetClass);
       } catch (Exception e) {
         log.error("Failed to convert Kafka payload to target type: {}", type, e);
         throw new IllegalArgumentException("Failed to convert payload to " + type, e);
@@ -47,6 +117,56 @@ public class MapToPojoRecordMessageConverter extends MessagingMessageConverter {
     return value;
   }
 
+  private Object resolveClaimCheck(String reference, Type type) {
+    if (claimCheckStore == null) {
+      throw new IllegalStateException(
+          "Received claim-check record but no ClaimCheckStore is configured: " + reference);
+    }
+    Class<?> targetClass = type != null ? toClass(type) : null;
+    try (InputStream in = claimCheckStore.open(reference)) {
+      if (targetClass == null || targetClass == Object.class || targetClass == String.class) {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      }
+      JavaType javaType = objectMapper.getTypeFactory().constructType(type);
+      if (targetClass == List.class && type instanceof ParameterizedType) {
+        // Claim-checked events are never batched: deliver the single event as a singleton list
+        JsonNode tree = objectMapper.readTree(in);
+        return List.of(objectMapper.convertValue(tree, javaType.getContentType()));
+      }
+      return objectMapper.readValue(in, javaType);
+    } catch (IOException e) {
+      log.error("Failed to resolve claim-check payload: {}", reference, e);
+      throw new IllegalArgumentException("Failed to resolve claim-check payload " + reference, e);
+    }
+  }
+
+  /**
+   * Converts a record into a list: the elements of a batched envelope, or the single event of a
+   * plain record.
+   */
+  private List<?> convertList(
+      ConsumerRecord<?, ?> record, Object value, Type type, boolean batched) throws IOException {
+    JavaType listType = objectMapper.getTypeFactory().constructType(type);
+    JsonNode tree =
+        switch (value) {
+          case Map<?, ?> map -> objectMapper.valueToTree(map);
+          case String json -> objectMapper.readTree(json);
+          case byte[] bytes -> codecs.forHeaders(record.headers()).decode(bytes, JsonNode.class);
+          default -> objectMapper.valueToTree(value);
+        };
+    if (batched) return objectMapper.convertValue(tree, listType);
+    return List.of(objectMapper.convertValue(tree, listType.getContentType()));
+  }
+
+  private Object decode(ConsumerRecord<?, ?> record, byte[] bytes, Class<?> targetClass)
+      throws IOException {
+    EventCodec codec = codecs.forHeaders(record.headers());
+    if (targetClass == String.class) {
+      return objectMapper.writeValueAsString(codec.decode(bytes, JsonNode.class));
+    }
+    return codec.decode(bytes, targetClass);
+  }
+
   private Class<?> toClass(Type type) {
     if (type instanceof Class<?> c) return c;
     if (type instanceof ParameterizedType pt) {
@@ -58,6 +178,6 @@ public class MapToPojoRecordMessageConverter extends MessagingMessageConverter {
 
   private boolean needsConversion(Object value, Class<?> targetClass) {
     if (targetClass == Object.class || targetClass.isInstance(value)) return false;
-    return value instanceof Map || value instanceof String;
+    return value instanceof Map || value instanceof String || value instanceof byte[];
   }
 }
@@ -1,16 +1,14 @@
 package com.zeabay.common.kafka.support;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Iterator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.MDC;
 import org.springframework.kafka.listener.RecordInterceptor;
 
 import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.kafka.ZeabayKafkaHeaders;
+import com.zeabay.common.trace.TraceContextCodec;
 
 /**
  * Extracts W3C traceparent from Kafka headers and injects it into MDC. Ensures Jaeger/Zipkin
@@ -18,9 +16,6 @@ import com.zeabay.common.constant.ZeabayConstants;
  */
 public class TraceparentRecordInterceptor<K, V> implements RecordInterceptor<K, V> {
 
-  private static final Pattern TRACEPARENT =
-      Pattern.compile("^[\\da-fA-F]{2}-([\\da-fA-F]{32})-[\\da-fA-F]{16}-[\\da-fA-F]{2}$");
-
   /**
    * Extracts the trace ID from the {@code traceparent} Kafka header and puts it into MDC before the
    * record is processed.
@@ -41,15 +36,7 @@ public class TraceparentRecordInterceptor<K, V> implements RecordInterceptor<K,
   }
 
   private String extractTraceId(ConsumerRecord<?, ?> record) {
-    Iterator<org.apache.kafka.common.header.Header> it =
-        record.headers().headers("traceparent").iterator();
-    if (!it.hasNext()) return null;
-
-    byte[] value = it.next().value();
-    if (value == null || value.length == 0) return null;
-
-    String traceparent = new String(value, StandardCharsets.UTF_8).trim();
-    Matcher m = TRACEPARENT.matcher(traceparent);
-    return m.matches() ? m.group(1).toLowerCase() : null;
+    Header header = record.headers().lastHeader(ZeabayKafkaHeaders.TRACEPARENT);
+    return header != null ? TraceContextCodec.parseTraceId(header.value()) : null;
   }
 }
@@ -0,0 +1,32 @@
+package com.zeabay.common.kafka.support;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import com.zeabay.common.kafka.ZeabayKafkaHeaders;
+import com.zeabay.common.kafka.codec.JacksonEventCodec;
+
+/**
+ * Kafka value deserializer that keeps JSON records as {@link String} (unchanged behaviour) and
+ * hands binary-encoded records to {@link MapToPojoRecordMessageConverter} as raw {@code byte[]},
+ * where they are decoded once the target type is known.
+ */
+public class ZeabayEventDeserializer implements Deserializer<Object> {
+
+  @Override
+  public Object deserialize(String topic, byte[] data) {
+    return data != null ? new String(data, StandardCharsets.UTF_8) : null;
+  }
+
+  @Override
+  public Object deserialize(String topic, Headers headers, byte[] data) {
+    if (data == null) return null;
+    String contentType = ZeabayKafkaHeaders.lastValue(headers, ZeabayKafkaHeaders.CONTENT_TYPE);
+    if (contentType == null || contentType.equalsIgnoreCase(JacksonEventCodec.JSON)) {
+      return new String(data, StandardCharsets.UTF_8);
+    }
+    return data;
+  }
+}
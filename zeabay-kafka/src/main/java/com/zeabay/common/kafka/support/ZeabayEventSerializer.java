@@ -0,0 +1,57 @@
+package com.zeabay.common.kafka.support;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import com.zeabay.common.kafka.ZeabayKafkaHeaders;
+import com.zeabay.common.kafka.codec.EventCodec;
+import com.zeabay.common.kafka.codec.EventCodecRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kafka value serializer that encodes payloads with the codec configured for the destination topic
+ * and records the format in the {@link ZeabayKafkaHeaders#CONTENT_TYPE} header.
+ *
+ * <p>Pre-serialized JSON strings (outbox payloads) are transcoded for binary codecs; {@code byte[]}
+ * values are passed through untouched.
+ */
+@RequiredArgsConstructor
+public class ZeabayEventSerializer implements Serializer<Object> {
+
+  private final EventCodecRegistry codecs;
+
+  @Override
+  public byte[] serialize(String topic, Object data) {
+    return serialize(topic, null, data);
+  }
+
+  @Override
+  public byte[] serialize(String topic, Headers headers, Object data) {
+    if (data == null) return null;
+    if (data instanceof byte[] bytes) return bytes;
+
+    EventCodec codec = codecs.forTopic(topic);
+    if (headers != null) {
+      headers.remove(ZeabayKafkaHeaders.CONTENT_TYPE);
+      headers.add(
+          ZeabayKafkaHeaders.CONTENT_TYPE, codec.contentType().getBytes(StandardCharsets.UTF_8));
+    }
+
+    try {
+      if (data instanceof String json) {
+        return EventCodecRegistry.isJson(codec)
+            ? json.getBytes(StandardCharsets.UTF_8)
+            : codec.transcode(json);
+      }
+      return codec.encode(data);
+    } catch (IOException e) {
+      throw new SerializationException(
+          "Failed to encode record for topic " + topic + " as " + codec.contentType(), e);
+    }
+  }
+}
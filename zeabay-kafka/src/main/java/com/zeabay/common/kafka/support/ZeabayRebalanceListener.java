@@ -0,0 +1,43 @@
+package com.zeabay.common.kafka.support;
+
+import java.util.Collection;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs partition movements of Zeabay listener containers.
+ *
+ * <p>Draining needs no extra work here: records are processed on the consumer thread and {@code
+ * BaseConsumer} blocks until each one is done, so revocation is only observed between records. The
+ * container commits pending offsets of the revoked partitions right after {@link
+ * #onPartitionsRevokedBeforeCommit}, before they are handed to another member.
+ */
+@Slf4j
+public class ZeabayRebalanceListener implements ConsumerAwareRebalanceListener {
+
+  @Override
+  public void onPartitionsRevokedBeforeCommit(
+      Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    if (!partitions.isEmpty()) {
+      log.info("Kafka partitions revoked, committing pending offsets: {}", partitions);
+    }
+  }
+
+  @Override
+  public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    log.warn(
+        "Kafka partitions lost without commit (session expired?), expect redelivery: {}",
+        partitions);
+  }
+
+  @Override
+  public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    if (!partitions.isEmpty()) {
+      log.info("Kafka partitions assigned: {}", partitions);
+    }
+  }
+}
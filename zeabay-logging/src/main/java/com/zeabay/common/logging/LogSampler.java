@@ -0,0 +1,71 @@
+package com.zeabay.common.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free per-method sampling and rate limiting for {@link LoggingAspect}.
+ *
+ * <p>The rate limit uses one-second windows packed into a single {@link AtomicLong} (window in the
+ * high 32 bits, logged calls in the low 32 bits), so admitting a call is one CAS.
+ */
+final class LogSampler {
+
+  private static final long COUNT_MASK = 0xffffffffL;
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final double sampleRate;
+  private final int sampleEvery;
+  private final int maxPerSecond;
+
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong window = new AtomicLong(-1L);
+  private final LongAdder suppressed = new LongAdder();
+
+  private LogSampler(double sampleRate, int sampleEvery, int maxPerSecond) {
+    this.sampleRate = sampleRate;
+    this.sampleEvery = sampleEvery;
+    this.maxPerSecond = maxPerSecond;
+  }
+
+  /** Returns a sampler for the annotation, or {@code null} if it logs every call. */
+  static LogSampler of(Loggable loggable) {
+    if (loggable == null) return null;
+    boolean sampled = loggable.sampleRate() < 1.0 || loggable.sampleEvery() > 1;
+    if (!sampled && loggable.maxPerSecond() <= 0) return null;
+    return new LogSampler(
+        Math.max(0.0, loggable.sampleRate()),
+        Math.max(1, loggable.sampleEvery()),
+        loggable.maxPerSecond());
+  }
+
+  /**
+   * Decides whether the current call is logged.
+   *
+   * @return {@code -1} if it is not; otherwise the number of calls left out since the previous
+   *     rate-limit window, which is only non-zero for the first call of a new window
+   */
+  long acquire() {
+    if (sampleEvery > 1 && calls.getAndIncrement() % sampleEvery != 0) return skip();
+    if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) return skip();
+    if (maxPerSecond <= 0) return 0;
+
+    long second = (System.nanoTime() / NANOS_PER_SECOND) & COUNT_MASK;
+    while (true) {
+      long current = window.get();
+      if (current >>> 32 != second) {
+        if (window.compareAndSet(current, (second << 32) | 1)) return suppressed.sumThenReset();
+      } else if ((current & COUNT_MASK) < maxPerSecond) {
+        if (window.compareAndSet(current, current + 1)) return 0;
+      } else {
+        return skip();
+      }
+    }
+  }
+
+  private long skip() {
+    if (maxPerSecond > 0) suppressed.increment();
+    return -1;
+  }
+}
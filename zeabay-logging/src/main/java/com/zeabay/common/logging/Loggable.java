@@ -11,6 +11,14 @@ import java.lang.annotation.Target;
  *
  * <p>When applied at the class level, all public methods in the class are logged. Method-level
  * annotations override class-level settings.
+ *
+ * <p>On hot paths, {@link #sampleRate()}, {@link #sampleEvery()} and {@link #maxPerSecond()} cut
+ * the number of logged calls. Failed calls, and calls slower than {@link #slowThresholdMs()}, are
+ * logged regardless:
+ *
+ * <pre>
+ * &#64;Loggable(logArgs = false, sampleEvery = 100, maxPerSecond = 10, slowThresholdMs = 500)
+ * </pre>
  */
 @Target({ElementType.METHOD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
@@ -22,4 +30,26 @@ public @interface Loggable {
 
   /** Whether the return value should be included in log output. */
   boolean logResult() default true;
+
+  /** Fraction of calls to log, between 0 and 1. */
+  double sampleRate() default 1.0;
+
+  /** Logs one call in every {@code sampleEvery}. */
+  int sampleEvery() default 1;
+
+  /**
+   * Maximum number of calls of this method logged per second, or 0 for no limit. The number of
+   * calls left out is logged with the first call of the next second.
+   */
+  int maxPerSecond() default 0;
+
+  /** Calls taking at least this many milliseconds are logged at WARN; negative disables. */
+  long slowThresholdMs() default -1;
+
+  /**
+   * Whether to record every call in the {@code zeabay.logging.method} timer, regardless of
+   * sampling. Requires Micrometer; {@code zeabay.logging.metrics.enabled} turns this on for all
+   * methods.
+   */
+  boolean timed() default false;
 }
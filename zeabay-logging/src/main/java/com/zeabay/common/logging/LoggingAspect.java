@@ -1,6 +1,10 @@
 package com.zeabay.common.logging;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -11,10 +15,13 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 
 import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.context.RequestMetadata;
+import com.zeabay.common.logging.metrics.MethodTimingRecorder;
 
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.util.context.ContextView;
 
 /**
@@ -22,7 +29,18 @@ import reactor.util.context.ContextView;
  * Loggable}.
  *
  * <p>Supports synchronous return types, {@link Mono}, and {@link Flux}. Log lines include trace ID,
- * client IP, authenticated user, HTTP method, and request path from the Reactor context or MDC.
+ * client IP, authenticated user, HTTP method, and request path from the Reactor context (separate
+ * keys or a single {@link RequestMetadata}) or MDC.
+ *
+ * <p>Method id and flags are resolved once per method and cached. Nothing is formatted unless the
+ * log level is enabled: arguments are only stringified for INFO, and the request fields are passed
+ * as a single parameter whose {@code toString} runs inside the logger.
+ *
+ * <p>Calls can be sampled and rate limited per method (see {@link Loggable}). Errors are always
+ * logged, and so are calls slower than the method's {@code slowThresholdMs}.
+ *
+ * <p>Timed methods (see {@link Loggable#timed()}) are also reported to a {@link
+ * MethodTimingRecorder}, for every call and independently of sampling and log levels.
  */
 @Slf4j
 @Aspect
@@ -31,79 +49,146 @@ public class LoggingAspect {
 
   private static final String HIDDEN_VALUE = "[HIDDEN]";
   private static final int MAX_ARGS_LENGTH = 500;
+  private static final Object NO_RESULT = new Object();
+
+  private final ConcurrentMap<Method, MethodMeta> methods = new ConcurrentHashMap<>();
+  private final MethodTimingRecorder timingRecorder;
+  private final boolean timeAll;
+
+  public LoggingAspect() {
+    this(null, false);
+  }
+
+  /**
+   * @param timingRecorder receives call durations of timed methods; {@code null} disables timing
+   * @param timeAll whether to time every method, not only those with {@link Loggable#timed()}
+   */
+  public LoggingAspect(MethodTimingRecorder timingRecorder, boolean timeAll) {
+    this.timingRecorder = timingRecorder;
+    this.timeAll = timeAll;
+  }
 
   @Around("@annotation(loggable) || @within(loggable)")
   public Object logAround(ProceedingJoinPoint joinPoint, Loggable loggable) throws Throwable {
-    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-    if (loggable == null) {
-      loggable = joinPoint.getTarget().getClass().getAnnotation(Loggable.class);
+    MethodMeta meta = meta(joinPoint, loggable);
+    if (!meta.timed() && !log.isErrorEnabled()) {
+      return joinPoint.proceed();
     }
 
-    String methodId = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
-    boolean logArgs = loggable != null && loggable.logArgs();
-    boolean logRes = loggable != null && loggable.logResult();
-    String args = logArgs ? safeArgsToString(joinPoint.getArgs()) : HIDDEN_VALUE;
-
-    Class<?> returnType = signature.getReturnType();
-    boolean reactiveReturn =
-        Mono.class.isAssignableFrom(returnType) || Flux.class.isAssignableFrom(returnType);
+    Object[] args = joinPoint.getArgs();
 
-    if (!reactiveReturn) {
-      logEntry(null, methodId, args);
+    boolean sampled = false;
+    if (!meta.reactive() && log.isInfoEnabled()) {
+      LogFields fields = LogFields.of(null);
+      sampled = sample(meta, fields);
+      if (sampled) logEntry(fields, meta, args);
     }
 
     Object result;
-    long assemblyTime = System.currentTimeMillis();
+    long assemblyStart = System.nanoTime();
 
     try {
       result = joinPoint.proceed();
     } catch (Throwable ex) {
-      if (reactiveReturn) {
-        logEntry(null, methodId, args);
+      recordTiming(meta, "error", assemblyStart);
+      LogFields fields = LogFields.of(null);
+      if (meta.reactive() && sample(meta, fields)) {
+        logEntry(fields, meta, args);
       }
       log.error(
           "{} <== [{}] failed after {}ms. Reason: {}",
-          getLogPrefix(null),
-          methodId,
-          (System.currentTimeMillis() - assemblyTime),
+          fields,
+          meta.id(),
+          millisSince(assemblyStart),
           ex.getMessage());
       throw ex;
     }
 
-    return switch (result) {
-      case null -> {
-        if (reactiveReturn) {
-          logEntry(null, methodId, args);
-        }
-        logSyncExit(methodId, null, assemblyTime, logRes);
-        yield null;
-      }
-      case Mono<?> mono ->
-          mono.transformDeferredContextual(
-              (orig, ctx) -> {
-                long subStart = System.currentTimeMillis();
-                logEntry(ctx, methodId, args);
-                return logMonoResult(orig, methodId, subStart, logRes, ctx);
-              });
-
-      case Flux<?> flux ->
-          flux.transformDeferredContextual(
-              (orig, ctx) -> {
-                long subStart = System.currentTimeMillis();
-                logEntry(ctx, methodId, args);
-                return logFluxResult(orig, methodId, subStart, logRes, ctx);
-              });
-
-      default -> {
-        if (reactiveReturn) {
-          logEntry(null, methodId, args);
-        }
-        logSyncExit(methodId, result, assemblyTime, logRes);
-        yield result;
-      }
+    if (result instanceof Mono<?> mono) {
+      return mono.transformDeferredContextual(
+          (orig, ctx) -> {
+            long subStart = System.nanoTime();
+            LogFields fields = LogFields.of(ctx);
+            boolean subSampled = sample(meta, fields);
+            if (subSampled) logEntry(fields, meta, args);
+            return logMonoResult(orig, meta, subStart, fields, subSampled);
+          });
+    }
+    if (result instanceof Flux<?> flux) {
+      return flux.transformDeferredContextual(
+          (orig, ctx) -> {
+            long subStart = System.nanoTime();
+            LogFields fields = LogFields.of(ctx);
+            boolean subSampled = sample(meta, fields);
+            if (subSampled) logEntry(fields, meta, args);
+            return logFluxResult(orig, meta, subStart, fields, subSampled);
+          });
+    }
+
+    if (meta.reactive()) {
+      LogFields fields = LogFields.of(null);
+      sampled = sample(meta, fields);
+      if (sampled) logEntry(fields, meta, args);
+    }
+    recordTiming(meta, "success", assemblyStart);
+    logSyncExit(meta, result, assemblyStart, sampled);
+    return result;
+  }
+
+  private MethodMeta meta(ProceedingJoinPoint joinPoint, Loggable loggable) {
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    return methods.computeIfAbsent(
+        signature.getMethod(),
+        method -> {
+          Loggable effective =
+              loggable != null
+                  ? loggable
+                  : joinPoint.getTarget().getClass().getAnnotation(Loggable.class);
+          Class<?> returnType = signature.getReturnType();
+          long slowThresholdMs = effective != null ? effective.slowThresholdMs() : -1;
+          return new MethodMeta(
+              signature.getDeclaringType().getSimpleName() + "." + method.getName(),
+              effective != null && effective.logArgs(),
+              effective != null && effective.logResult(),
+              Mono.class.isAssignableFrom(returnType) || Flux.class.isAssignableFrom(returnType),
+              LogSampler.of(effective),
+              slowThresholdMs >= 0 ? TimeUnit.MILLISECONDS.toNanos(slowThresholdMs) : -1,
+              timingRecorder != null && (timeAll || (effective != null && effective.timed())));
+        });
+  }
+
+  private void recordTiming(MethodMeta meta, String outcome, long start) {
+    if (meta.timed()) {
+      timingRecorder.record(meta.id(), outcome, System.nanoTime() - start);
+    }
+  }
+
+  private static String outcome(SignalType signal) {
+    return switch (signal) {
+      case ON_ERROR -> "error";
+      case CANCEL -> "cancel";
+      default -> "success";
     };
   }
 
+  /**
+   * Decides whether a call is logged at INFO, and reports the calls the rate limit left out when a
+   * new window starts.
+   */
+  private boolean sample(MethodMeta meta, LogFields fields) {
+    if (!log.isInfoEnabled()) return false;
+    if (meta.sampler() == null) return true;
+    long suppressed = meta.sampler().acquire();
+    if (suppressed > 0) {
+      log.info(
+          "{}     [{}] {} calls not logged (sampled out or rate limited)",
+          fields,
+          meta.id(),
+          suppressed);
+    }
+    return suppressed >= 0;
+  }
+
   private static String safeArgsToString(Object[] args) {
     try {
       String raw = Arrays.toString(args);
@@ -113,100 +198,163 @@ public class LoggingAspect {
     }
   }
 
-  private void logEntry(ContextView ctx, String methodId, String args) {
-    log.info("{} ==> [{}] called | args: {}", getLogPrefix(ctx), methodId, args);
+  private static long millisSince(long startNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
   }
 
-  private void logSyncExit(String mId, Object res, long start, boolean logRes) {
-    long duration = System.currentTimeMillis() - start;
-    if (logRes) {
-      String resStr = res != null ? String.valueOf(res) : "void";
-      log.info(
-          "{} <== [{}] completed in {}ms | result: {}", getLogPrefix(null), mId, duration, resStr);
+  private void logEntry(LogFields fields, MethodMeta meta, Object[] args) {
+    log.info(
+        "{} ==> [{}] called | args: {}",
+        fields,
+        meta.id(),
+        meta.logArgs() ? safeArgsToString(args) : HIDDEN_VALUE);
+  }
+
+  /**
+   * Logs a successful exit: at WARN when slower than the method's threshold, otherwise at INFO if
+   * the call was sampled.
+   */
+  private void logExit(
+      LogFields fields, MethodMeta meta, long start, boolean sampled, String what, Object res) {
+    long nanos = System.nanoTime() - start;
+    long duration = TimeUnit.NANOSECONDS.toMillis(nanos);
+    if (meta.slowThresholdNanos() >= 0 && nanos >= meta.slowThresholdNanos()) {
+      log.warn(
+          "{} <== [{}] {} in {}ms, slower than {}ms",
+          fields,
+          meta.id(),
+          what,
+          duration,
+          TimeUnit.NANOSECONDS.toMillis(meta.slowThresholdNanos()));
+    } else if (!sampled || !log.isInfoEnabled()) {
+      return;
+    } else if (meta.logResult() && res != NO_RESULT) {
+      log.info("{} <== [{}] {} in {}ms | result: {}", fields, meta.id(), what, duration, res);
     } else {
-      log.info("{} <== [{}] completed in {}ms", getLogPrefix(null), mId, duration);
+      log.info("{} <== [{}] {} in {}ms", fields, meta.id(), what, duration);
     }
   }
 
-  private String getLogPrefix(ContextView ctx) {
-    return String.format(
-        "[traceId=%s, ip=%s, user=%s] [%s %s]",
-        val(ctx, ZeabayConstants.TRACE_ID_CTX_KEY, "missing-trace-id"),
-        val(ctx, ZeabayConstants.IP_CTX_KEY, "unknown-ip"),
-        val(ctx, ZeabayConstants.USER_CTX_KEY, "-"),
-        val(ctx, ZeabayConstants.METHOD_CTX_KEY, "-"),
-        val(ctx, ZeabayConstants.PATH_CTX_KEY, "-"));
-  }
-
-  private String val(ContextView ctx, String key, String def) {
-    if (ctx != null) {
-      String ctxVal = ctx.getOrDefault(key, null);
-      if (ctxVal != null) return ctxVal;
-    }
-    String mdc = MDC.get(key);
-    return mdc != null ? mdc : def;
+  private void logSyncExit(MethodMeta meta, Object res, long start, boolean sampled) {
+    if (!sampled && meta.slowThresholdNanos() < 0) return;
+    logExit(LogFields.of(null), meta, start, sampled, "completed", res != null ? res : "void");
   }
 
   private <T> Mono<T> logMonoResult(
-      Mono<T> mono, String mId, long start, boolean logRes, ContextView ctx) {
-    return mono.doOnSuccess(
-            v -> {
-              long duration = System.currentTimeMillis() - start;
-              if (logRes) {
-                log.info(
-                    "{} <== [{}] completed in {}ms | result: {}",
-                    getLogPrefix(ctx),
-                    mId,
-                    duration,
-                    v);
-              } else {
-                log.info("{} <== [{}] completed in {}ms", getLogPrefix(ctx), mId, duration);
-              }
-            })
-        .doOnError(
+      Mono<T> mono, MethodMeta meta, long start, LogFields fields, boolean sampled) {
+    Mono<T> logged =
+        mono.doOnError(
             ex ->
                 log.error(
                     "{} <== [{}] failed in {}ms. Reason: {}",
-                    getLogPrefix(ctx),
-                    mId,
-                    (System.currentTimeMillis() - start),
-                    ex.getMessage()))
-        .doOnCancel(
-            () ->
-                log.warn(
-                    "{} <== [{}] cancelled after {}ms",
-                    getLogPrefix(ctx),
-                    mId,
-                    (System.currentTimeMillis() - start)));
+                    fields,
+                    meta.id(),
+                    millisSince(start),
+                    ex.getMessage()));
+    if (sampled || meta.slowThresholdNanos() >= 0) {
+      logged = logged.doOnSuccess(v -> logExit(fields, meta, start, sampled, "completed", v));
+    }
+    if (sampled) {
+      logged =
+          logged.doOnCancel(
+              () ->
+                  log.warn(
+                      "{} <== [{}] cancelled after {}ms", fields, meta.id(), millisSince(start)));
+    }
+    if (meta.timed()) {
+      logged = logged.doFinally(signal -> recordTiming(meta, outcome(signal), start));
+    }
+    return logged;
   }
 
   private <T> Flux<T> logFluxResult(
-      Flux<T> flux, String mId, long start, boolean logRes, ContextView ctx) {
-    return flux.doOnComplete(
-            () -> {
-              long duration = System.currentTimeMillis() - start;
-              log.info("{} <== [{}] stream completed in {}ms", getLogPrefix(ctx), mId, duration);
-            })
-        .doOnNext(
-            v -> {
-              if (logRes) {
-                log.info("{}     [{}] emitted: {}", getLogPrefix(ctx), mId, v);
-              }
-            })
-        .doOnError(
+      Flux<T> flux, MethodMeta meta, long start, LogFields fields, boolean sampled) {
+    Flux<T> logged = flux;
+    if (sampled && meta.logResult()) {
+      logged = logged.doOnNext(v -> log.info("{}     [{}] emitted: {}", fields, meta.id(), v));
+    }
+    logged =
+        logged.doOnError(
             ex ->
                 log.error(
                     "{} <== [{}] flux failed in {}ms. Reason: {}",
-                    getLogPrefix(ctx),
-                    mId,
-                    (System.currentTimeMillis() - start),
-                    ex.getMessage()))
-        .doOnCancel(
-            () ->
-                log.warn(
-                    "{} <== [{}] flux cancelled after {}ms",
-                    getLogPrefix(ctx),
-                    mId,
-                    (System.currentTimeMillis() - start)));
+                    fields,
+                    meta.id(),
+                    millisSince(start),
+                    ex.getMessage()));
+    if (sampled || meta.slowThresholdNanos() >= 0) {
+      logged =
+          logged.doOnComplete(
+              () -> logExit(fields, meta, start, sampled, "stream completed", NO_RESULT));
+    }
+    if (sampled) {
+      logged =
+          logged.doOnCancel(
+              () ->
+                  log.warn(
+                      "{} <== [{}] flux cancelled after {}ms",
+                      fields,
+                      meta.id(),
+                      millisSince(start)));
+    }
+    if (meta.timed()) {
+      logged = logged.doFinally(signal -> recordTiming(meta, outcome(signal), start));
+    }
+    return logged;
+  }
+
+  /** Per-method settings resolved on first call. */
+  private record MethodMeta(
+      String id,
+      boolean logArgs,
+      boolean logResult,
+      boolean reactive,
+      LogSampler sampler,
+      long slowThresholdNanos,
+      boolean timed) {}
+
+  /**
+   * Request fields of a log line, resolved once per call or subscription. Rendered lazily by the
+   * logger through {@link #toString()}, so disabled levels pay no formatting cost.
+   */
+  private record LogFields(String traceId, String ip, String user, String method, String path) {
+
+    static LogFields of(ContextView ctx) {
+      RequestMetadata metadata =
+          ctx != null ? ctx.getOrDefault(RequestMetadata.CTX_KEY, null) : null;
+      return new LogFields(
+          val(ctx, metadata, ZeabayConstants.TRACE_ID_CTX_KEY, "missing-trace-id"),
+          val(ctx, metadata, ZeabayConstants.IP_CTX_KEY, "unknown-ip"),
+          val(ctx, metadata, ZeabayConstants.USER_CTX_KEY, "-"),
+          val(ctx, metadata, ZeabayConstants.METHOD_CTX_KEY, "-"),
+          val(ctx, metadata, ZeabayConstants.PATH_CTX_KEY, "-"));
+    }
+
+    private static String val(
+        ContextView ctx, RequestMetadata metadata, String key, String defaultValue) {
+      if (ctx != null) {
+        String ctxVal = ctx.getOrDefault(key, null);
+        if (ctxVal != null) return ctxVal;
+        String metadataVal = metadata != null ? metadata.get(key) : null;
+        if (metadataVal != null) return metadataVal;
+      }
+      String mdc = MDC.get(key);
+      return mdc != null ? mdc : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+      return "[traceId="
+          + traceId
+          + ", ip="
+          + ip
+          + ", user="
+          + user
+          + "] ["
+          + method
+          + " "
+          + path
+          + "]";
+    }
   }
 }
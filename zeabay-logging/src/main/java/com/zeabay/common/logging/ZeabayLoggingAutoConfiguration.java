@@ -1,20 +1,85 @@
 package com.zeabay.common.logging;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zeabay.common.logging.logback.ZeabayConsoleAppenderInstaller;
+import com.zeabay.common.logging.metrics.AsyncAppenderMetrics;
+import com.zeabay.common.logging.metrics.MethodTimingRecorder;
+import com.zeabay.common.logging.metrics.MicrometerMethodTimingRecorder;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Autoconfigures the {@link LoggingAspect} bean.
  *
- * <p>Can be disabled by setting {@code zeabay.logging.enabled=false}.
+ * <p>Can be disabled by setting {@code zeabay.logging.enabled=false}. With Micrometer present, the
+ * aspect also records method timers (see {@link ZeabayLoggingProperties.Metrics}). With Logback,
+ * console output can be switched to JSON and/or moved behind a bounded async queue (see {@link
+ * ZeabayLoggingProperties.Console}).
  */
 @AutoConfiguration
 @ConditionalOnProperty(name = "zeabay.logging.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ZeabayLoggingProperties.class)
+@AutoConfigureAfter(
+    name = "org.springframework.boot.micrometer.metrics.autoconfigure.CompositeMeterRegistryAutoConfiguration")
 public class ZeabayLoggingAutoConfiguration {
 
   @Bean
-  public LoggingAspect loggingAspect() {
-    return new LoggingAspect();
+  public LoggingAspect loggingAspect(
+      ObjectProvider<MethodTimingRecorder> timingRecorder, ZeabayLoggingProperties props) {
+    return new LoggingAspect(timingRecorder.getIfAvailable(), props.getMetrics().isEnabled());
+  }
+
+  /** Micrometer-dependent beans, kept apart so the module works without Micrometer. */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(MeterRegistry.class)
+  static class ZeabayLoggingMetricsConfiguration {
+
+    /** Records the {@code zeabay.logging.method} timers of timed {@code @Loggable} methods. */
+    @Bean
+    @ConditionalOnMissingBean(MethodTimingRecorder.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    public MicrometerMethodTimingRecorder zeabayMethodTimingRecorder(MeterRegistry meterRegistry) {
+      return new MicrometerMethodTimingRecorder(meterRegistry);
+    }
+  }
+
+  /** Logback-dependent beans, kept apart so the module works with other SLF4J backends. */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(LoggerContext.class)
+  static class ZeabayLogbackConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public ZeabayConsoleAppenderInstaller zeabayConsoleAppenderInstaller(
+        ZeabayLoggingProperties props) {
+      ZeabayConsoleAppenderInstaller installer =
+          new ZeabayConsoleAppenderInstaller(props.getConsole());
+      installer.install();
+      return installer;
+    }
+
+    /** Queue depth and drop count of the async console appender. */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class ZeabayAsyncAppenderMetricsConfiguration {
+
+      @Bean
+      @ConditionalOnMissingBean
+      public AsyncAppenderMetrics zeabayAsyncAppenderMetrics(
+          ZeabayConsoleAppenderInstaller installer) {
+        return new AsyncAppenderMetrics(installer);
+      }
+    }
   }
 }
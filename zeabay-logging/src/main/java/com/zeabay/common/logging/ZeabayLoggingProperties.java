@@ -0,0 +1,76 @@
+package com.zeabay.common.logging;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * {@link Loggable} settings (prefix: {@code zeabay.logging}).
+ *
+ * <pre>
+ * zeabay:
+ *   logging:
+ *     metrics:
+ *       enabled: true   # time every @Loggable method, requires Micrometer
+ *     console:
+ *       json: true      # one JSON object per line, requires Logback
+ *       async: true
+ *       overflow: drop
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "zeabay.logging")
+public class ZeabayLoggingProperties {
+
+  /** Whether the module is active: the {@link LoggingAspect} and the console settings. */
+  private boolean enabled = true;
+
+  private Metrics metrics = new Metrics();
+
+  private Console console = new Console();
+
+  /** Method timers. */
+  @Data
+  public static class Metrics {
+    /**
+     * Records a {@code zeabay.logging.method} timer for every {@link Loggable} method, not only
+     * those with {@link Loggable#timed()}.
+     */
+    private boolean enabled = false;
+  }
+
+  /** Root console output. */
+  @Data
+  public static class Console {
+    /** Replaces the console appenders with one writing JSON lines. */
+    private boolean json = false;
+
+    /**
+     * Moves console output to a background thread behind a bounded queue, so logging never waits
+     * on stdout from a Netty event loop (with {@code overflow: drop}).
+     */
+    private boolean async = false;
+
+    /** Capacity of the async queue, in events. */
+    private int queueSize = 8192;
+
+    /** What the async appender does when the queue fills up. */
+    private Overflow overflow = Overflow.DROP;
+
+    /** Time allowed on shutdown to write out queued events. */
+    private Duration maxFlushTime = Duration.ofSeconds(1);
+  }
+
+  public enum Overflow {
+    /** Never drop; callers wait for queue space. */
+    BLOCK,
+
+    /** Drop TRACE-INFO events once the queue is 80% full; WARN and ERROR callers wait. */
+    DISCARD_BELOW_WARN,
+
+    /** Drop TRACE-INFO events once the queue is 80% full, and any event when it is full. */
+    DROP
+  }
+}
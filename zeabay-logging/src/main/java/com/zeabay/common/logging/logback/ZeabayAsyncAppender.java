@@ -0,0 +1,34 @@
+package com.zeabay.common.logging.logback;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops, either below the discarding threshold or
+ * because the queue is full and {@code neverBlock} is set.
+ *
+ * <p>Drops are decided here before delegating, so the count is exact for them; the base class can
+ * still drop silently if the queue fills up between the check and the offer.
+ */
+public class ZeabayAsyncAppender extends AsyncAppender {
+
+  private final LongAdder dropped = new LongAdder();
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    int remaining = getRemainingCapacity();
+    if ((remaining < getDiscardingThreshold() && isDiscardable(event))
+        || (remaining == 0 && isNeverBlock())) {
+      dropped.increment();
+      return;
+    }
+    super.append(event);
+  }
+
+  /** Returns the number of events dropped since start. */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+}
@@ -0,0 +1,116 @@
+package com.zeabay.common.logging.logback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.LoggerFactory;
+
+import com.zeabay.common.logging.ZeabayLoggingProperties;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rewires the root logger's console output according to {@code zeabay.logging.console}: replaces
+ * the console appenders with a {@link ZeabayJsonEncoder} console appender and/or moves console
+ * output behind a {@link ZeabayAsyncAppender}. Other appenders (e.g. files) are left alone.
+ *
+ * <p>{@link #close()} flushes the queue and puts the original appenders back.
+ */
+@Slf4j
+public class ZeabayConsoleAppenderInstaller implements AutoCloseable {
+
+  private static final String ASYNC_NAME = "ZEABAY_ASYNC";
+  private static final String JSON_CONSOLE_NAME = "ZEABAY_JSON_CONSOLE";
+
+  private final ZeabayLoggingProperties.Console props;
+  private final List<Appender<ILoggingEvent>> replaced = new ArrayList<>();
+
+  private Logger root;
+  private Appender<ILoggingEvent> installed;
+  private ZeabayAsyncAppender async;
+
+  public ZeabayConsoleAppenderInstaller(ZeabayLoggingProperties.Console props) {
+    this.props = props;
+  }
+
+  /** Installs the configured appenders; a no-op if neither JSON nor async output is enabled. */
+  public synchronized void install() {
+    if (!props.isJson() && !props.isAsync()) return;
+    if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+      log.warn("zeabay.logging.console ignored, Logback is not the SLF4J backend");
+      return;
+    }
+
+    root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+    root.iteratorForAppenders()
+        .forEachRemaining(
+            appender -> {
+              if (appender instanceof ConsoleAppender<ILoggingEvent>) replaced.add(appender);
+            });
+
+    List<Appender<ILoggingEvent>> targets =
+        props.isJson() ? List.of(jsonConsole(context)) : replaced;
+    installed = props.isAsync() ? async(context, targets) : targets.getFirst();
+
+    root.addAppender(installed);
+    replaced.forEach(root::detachAppender);
+    log.info(
+        "Console logging reconfigured: json={}, async={}, queueSize={}, overflow={}",
+        props.isJson(),
+        props.isAsync(),
+        props.getQueueSize(),
+        props.getOverflow());
+  }
+
+  /** Returns the async appender, or {@code null} if async output is not installed. */
+  public ZeabayAsyncAppender getAsyncAppender() {
+    return async;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (installed == null) return;
+    for (Appender<ILoggingEvent> appender : replaced) {
+      if (!appender.isStarted()) appender.start();
+      root.addAppender(appender);
+    }
+    root.detachAppender(installed);
+    installed.stop();
+    installed = null;
+    async = null;
+  }
+
+  private ConsoleAppender<ILoggingEvent> jsonConsole(LoggerContext context) {
+    ZeabayJsonEncoder encoder = new ZeabayJsonEncoder();
+    encoder.setContext(context);
+    encoder.start();
+
+    ConsoleAppender<ILoggingEvent> console = new ConsoleAppender<>();
+    console.setContext(context);
+    console.setName(JSON_CONSOLE_NAME);
+    console.setEncoder(encoder);
+    console.start();
+    return console;
+  }
+
+  private ZeabayAsyncAppender async(LoggerContext context, List<Appender<ILoggingEvent>> targets) {
+    async = new ZeabayAsyncAppender();
+    async.setContext(context);
+    async.setName(ASYNC_NAME);
+    async.setQueueSize(props.getQueueSize());
+    async.setMaxFlushTime((int) props.getMaxFlushTime().toMillis());
+    switch (props.getOverflow()) {
+      case BLOCK -> async.setDiscardingThreshold(0);
+      case DISCARD_BELOW_WARN -> async.setNeverBlock(false);
+      case DROP -> async.setNeverBlock(true);
+    }
+    targets.forEach(async::addAppender);
+    async.start();
+    return async;
+  }
+}
@@ -0,0 +1,126 @@
+package com.zeabay.common.logging.logback;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.event.KeyValuePair;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import com.zeabay.common.constant.ZeabayConstants;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * Logback encoder writing one JSON object per line.
+ *
+ * <p>The request keys of {@link ZeabayConstants} ({@code traceId}, {@code ip}, {@code user}, {@code
+ * method}, {@code path}) are read from MDC into top-level fields; any other MDC entries go under
+ * {@code mdc}, SLF4J key-value pairs under {@code kv}:
+ *
+ * <pre>
+ * {"@timestamp":"2026-01-01T10:00:00.123Z","level":"INFO","logger":"c.z.Foo","thread":"reactor-1",
+ *  "message":"...","traceId":"4bf9...","ip":"10.0.0.1","user":"alice","method":"GET","path":"/x"}
+ * </pre>
+ */
+public class ZeabayJsonEncoder extends EncoderBase<ILoggingEvent> {
+
+  private static final byte[] EMPTY = new byte[0];
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private static final String[] REQUEST_KEYS = {
+    ZeabayConstants.TRACE_ID_CTX_KEY,
+    ZeabayConstants.IP_CTX_KEY,
+    ZeabayConstants.USER_CTX_KEY,
+    ZeabayConstants.METHOD_CTX_KEY,
+    ZeabayConstants.PATH_CTX_KEY
+  };
+  private static final Set<String> REQUEST_KEY_SET = Set.of(REQUEST_KEYS);
+
+  @Override
+  public byte[] headerBytes() {
+    return EMPTY;
+  }
+
+  @Override
+  public byte[] encode(ILoggingEvent event) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+    try (JsonGenerator json = JSON.createGenerator(out)) {
+      json.writeStartObject();
+      json.writeStringField("@timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+      json.writeStringField("level", event.getLevel().toString());
+      json.writeStringField("logger", event.getLoggerName());
+      json.writeStringField("thread", event.getThreadName());
+      json.writeStringField("message", event.getFormattedMessage());
+
+      Map<String, String> mdc = event.getMDCPropertyMap();
+      boolean otherMdc = false;
+      for (String key : REQUEST_KEYS) {
+        String value = mdc.get(key);
+        if (value != null) json.writeStringField(key, value);
+      }
+      for (String key : mdc.keySet()) {
+        otherMdc |= !REQUEST_KEY_SET.contains(key);
+      }
+      if (otherMdc) {
+        json.writeObjectFieldStart("mdc");
+        for (Map.Entry<String, String> entry : mdc.entrySet()) {
+          if (!REQUEST_KEY_SET.contains(entry.getKey())) {
+            json.writeStringField(entry.getKey(), entry.getValue());
+          }
+        }
+        json.writeEndObject();
+      }
+
+      List<KeyValuePair> kvs = event.getKeyValuePairs();
+      if (kvs != null && !kvs.isEmpty()) {
+        json.writeObjectFieldStart("kv");
+        for (KeyValuePair kv : kvs) {
+          json.writeFieldName(kv.key);
+          writeValue(json, kv.value);
+        }
+        json.writeEndObject();
+      }
+
+      IThrowableProxy throwable = event.getThrowableProxy();
+      if (throwable != null) {
+        json.writeObjectFieldStart("exception");
+        json.writeStringField("class", throwable.getClassName());
+        json.writeStringField("message", throwable.getMessage());
+        json.writeStringField("stackTrace", ThrowableProxyUtil.asString(throwable));
+        json.writeEndObject();
+      }
+      json.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    out.write('\n');
+    return out.toByteArray();
+  }
+
+  @Override
+  public byte[] footerBytes() {
+    return EMPTY;
+  }
+
+  private static void writeValue(JsonGenerator json, Object value) throws IOException {
+    switch (value) {
+      case null -> json.writeNull();
+      case Boolean b -> json.writeBoolean(b);
+      case Integer i -> json.writeNumber(i);
+      case Long l -> json.writeNumber(l);
+      case Double d -> json.writeNumber(d);
+      case Number n -> json.writeNumber(n.toString());
+      default -> json.writeString(String.valueOf(value));
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.zeabay.common.logging.metrics;
+
+import com.zeabay.common.logging.logback.ZeabayAsyncAppender;
+import com.zeabay.common.logging.logback.ZeabayConsoleAppenderInstaller;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes the async console appender's queue depth ({@code zeabay.logging.queue.depth}) and
+ * dropped events ({@code zeabay.logging.dropped}). Binds nothing if async output is disabled.
+ */
+@RequiredArgsConstructor
+public class AsyncAppenderMetrics implements MeterBinder {
+
+  private final ZeabayConsoleAppenderInstaller installer;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    ZeabayAsyncAppender appender = installer.getAsyncAppender();
+    if (appender == null) return;
+
+    Gauge.builder(
+            "zeabay.logging.queue.depth",
+            appender,
+            ZeabayAsyncAppender::getNumberOfElementsInQueue)
+        .description("Log events waiting in the async console appender")
+        .register(registry);
+    FunctionCounter.builder(
+            "zeabay.logging.dropped", appender, ZeabayAsyncAppender::getDroppedCount)
+        .description("Log events dropped by the async console appender")
+        .register(registry);
+  }
+}
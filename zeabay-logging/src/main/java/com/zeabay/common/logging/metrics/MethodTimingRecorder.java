@@ -0,0 +1,17 @@
+package com.zeabay.common.logging.metrics;
+
+/**
+ * Records the duration of {@code @Loggable} method calls. Kept free of Micrometer types so the
+ * aspect works whether or not Micrometer is on the classpath.
+ */
+public interface MethodTimingRecorder {
+
+  /**
+   * Records one call.
+   *
+   * @param methodId {@code SimpleClassName.method}
+   * @param outcome {@code success}, {@code error} or {@code cancel}
+   * @param nanos duration in nanoseconds; for Mono/Flux, from subscription to termination
+   */
+  void record(String methodId, String outcome, long nanos);
+}
@@ -0,0 +1,39 @@
+package com.zeabay.common.logging.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes method durations as the histogram timer {@code zeabay.logging.method} tagged with
+ * {@code method} and {@code outcome}.
+ */
+@RequiredArgsConstructor
+public class MicrometerMethodTimingRecorder implements MethodTimingRecorder {
+
+  private static final String METRIC = "zeabay.logging.method";
+
+  private final MeterRegistry registry;
+  private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+  @Override
+  public void record(String methodId, String outcome, long nanos) {
+    timers
+        .computeIfAbsent(
+            new TimerKey(methodId, outcome),
+            key ->
+                Timer.builder(METRIC)
+                    .description("Duration of @Loggable method calls")
+                    .tag("method", key.methodId())
+                    .tag("outcome", key.outcome())
+                    .publishPercentileHistogram()
+                    .register(registry))
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private record TimerKey(String methodId, String outcome) {}
+}
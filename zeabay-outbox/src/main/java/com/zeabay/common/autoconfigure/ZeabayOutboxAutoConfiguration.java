@@ -46,7 +46,7 @@ public class ZeabayOutboxAutoConfiguration {
     return new OutboxR2dbcMigrationContributor();
   }
 
-  /** Creates outbox_events table only if Flyway is disabled. */
+  /** Creates and migrates the outbox_events table only if Flyway is disabled. */
   @Bean
   @ConditionalOnProperty(
       name = "spring.flyway.enabled",
@@ -57,7 +57,9 @@ public class ZeabayOutboxAutoConfiguration {
     initializer.setConnectionFactory(connectionFactory);
     initializer.setDatabasePopulator(
         new ResourceDatabasePopulator(
-            new ClassPathResource("com/zeabay/common/outbox/db/migration/V0__outbox_events.sql")));
+            new ClassPathResource("com/zeabay/common/outbox/db/migration/V0__outbox_events.sql"),
+            new ClassPathResource(
+                "com/zeabay/common/outbox/db/migration/R__outbox_payload_ref.sql")));
     return initializer;
   }
 
@@ -1,13 +1,17 @@
 package com.zeabay.common.outbox;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import lombok.RequiredArgsConstructor;
+import com.zeabay.common.claimcheck.ClaimCheckStore;
+
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
@@ -22,17 +26,47 @@ import reactor.core.publisher.Mono;
  *   <li>{@code producedFrom} — the producing service ({@code spring.application.name})
  *   <li>{@code producedAt} — set explicitly in Java (not left to DB DEFAULT)
  * </ul>
+ *
+ * <p>When constructed with {@link OutboxProperties} and a {@link ClaimCheckStore} provider that
+ * has a store, payloads larger than {@link OutboxProperties#getClaimCheckThresholdBytes()} are
+ * uploaded to it before the insert and only the returned reference is stored in {@code
+ * payload_ref}. An upload whose transaction later rolls back
+ * leaves an orphaned object, which the store's expiry policy cleans up.
  */
 @Slf4j
-@RequiredArgsConstructor
 public abstract class BaseProducer {
 
   protected final OutboxEventRepository outboxEventRepository;
   protected final ObjectMapper objectMapper;
+  protected final OutboxProperties outboxProperties;
+  protected final ObjectProvider<ClaimCheckStore> claimCheckStore;
 
   @Value("${spring.application.name}")
   private String producedFrom;
 
+  /** Creates a producer that always stores payloads inline (claim-check disabled). */
+  public BaseProducer(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+    this(
+        outboxEventRepository,
+        objectMapper,
+        new OutboxProperties(),
+        new StaticListableBeanFactory().getBeanProvider(ClaimCheckStore.class));
+  }
+
+  /**
+   * @param claimCheckStore store large payloads are offloaded to, when one is available
+   */
+  public BaseProducer(
+      OutboxEventRepository outboxEventRepository,
+      ObjectMapper objectMapper,
+      OutboxProperties outboxProperties,
+      ObjectProvider<ClaimCheckStore> claimCheckStore) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.objectMapper = objectMapper;
+    this.outboxProperties = outboxProperties;
+    this.claimCheckStore = claimCheckStore;
+  }
+
   /**
    * Serializes {@code payload} to JSON and persists a {@link OutboxEvent.Status#PENDING} outbox
    * record in the current transaction.
@@ -55,14 +89,48 @@ public abstract class BaseProducer {
       String traceId) {
 
     return serializePayload(payload, eventType)
-        .map(
+        .flatMap(
             json ->
-                buildOutboxEvent(
-                    eventId, eventType, topic, aggregateType, aggregateId, json, traceId))
+                offloadIfLarge(topic, eventId, json)
+                    .map(
+                        ref ->
+                            buildOutboxEvent(
+                                eventId, eventType, topic, aggregateType, aggregateId, "", ref,
+                                traceId))
+                    .switchIfEmpty(
+                        Mono.fromSupplier(
+                            () ->
+                                buildOutboxEvent(
+                                    eventId, eventType, topic, aggregateType, aggregateId, json,
+                                    null, traceId))))
         .flatMap(outboxEventRepository::save)
         .then();
   }
 
+  /**
+   * Uploads the payload to the claim-check store when it exceeds the threshold.
+   *
+   * @return a {@link Mono} emitting the storage reference, or empty when the payload stays inline
+   */
+  private Mono<String> offloadIfLarge(String topic, String eventId, String json) {
+    ClaimCheckStore store = claimCheckStore.getIfAvailable();
+    if (store == null) return Mono.empty();
+
+    int threshold = outboxProperties.getClaimCheckThresholdBytes();
+    // UTF-8 needs at most 3 bytes per char: skip the encoding for clearly small payloads
+    if ((long) json.length() * 3 <= threshold) return Mono.empty();
+
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length <= threshold) return Mono.empty();
+
+    log.info(
+        "Offloading outbox payload to claim-check store: eventId={}, topic={}, bytes={}",
+        eventId,
+        topic,
+        bytes.length);
+    return Mono.fromFuture(() -> store.store(topic + "/" + eventId, bytes));
+  }
+
   private Mono<String> serializePayload(Object payload, String eventType) {
     try {
       return Mono.just(objectMapper.writeValueAsString(payload));
@@ -79,6 +147,7 @@ public abstract class BaseProducer {
       String aggregateType,
       Long aggregateId,
       String jsonPayload,
+      String payloadRef,
       String traceId) {
     return OutboxEvent.builder()
         .eventId(eventId)
@@ -87,6 +156,7 @@ public abstract class BaseProducer {
         .aggregateType(aggregateType)
         .aggregateId(aggregateId)
         .payload(jsonPayload)
+        .payloadRef(payloadRef)
         .producedFrom(producedFrom)
         .traceId(traceId)
         .status(OutboxEvent.Status.PENDING)
@@ -40,6 +40,10 @@ public class OutboxEvent {
   @Column("payload")
   private String payload;
 
+  /** Claim-check reference when the payload was offloaded; {@code payload} is empty then. */
+  @Column("payload_ref")
+  private String payloadRef;
+
   @Column("produced_from")
   private String producedFrom;
 
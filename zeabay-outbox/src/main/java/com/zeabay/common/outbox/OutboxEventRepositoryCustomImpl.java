@@ -68,6 +68,7 @@ class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
         .aggregateType(row.get("aggregate_type", String.class))
         .aggregateId(row.get("aggregate_id", Long.class))
         .payload(row.get("payload", String.class))
+        .payloadRef(row.get("payload_ref", String.class))
         .traceId(row.get("trace_id", String.class))
         .status(
             statusStr != null ? OutboxEvent.Status.valueOf(statusStr) : OutboxEvent.Status.PENDING)
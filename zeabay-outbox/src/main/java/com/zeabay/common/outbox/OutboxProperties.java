@@ -1,6 +1,8 @@
 package com.zeabay.common.outbox;
 
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -13,4 +15,32 @@ public class OutboxProperties {
   private Duration pollingInterval = Duration.ofSeconds(1);
   private int batchSize = 50;
   private int maxRetries = 3;
+
+  /**
+   * Serialized payloads larger than this are offloaded to the {@code ClaimCheckStore} (when one is
+   * configured) and only the reference is stored and published. Default: 256 KiB.
+   */
+  private int claimCheckThresholdBytes = 256 * 1024;
+
+  private Batching batching = new Batching();
+
+  /**
+   * Opt-in envelope batching for tiny, high-frequency events. Pending events of a listed topic that
+   * share an aggregate ID are packed into a single Kafka record whose value is a JSON array and
+   * whose {@code zeabay-batch-size} header holds the element count. Listeners on these topics must
+   * accept {@code List<T>} and call {@code BaseConsumer#handleEvents}.
+   */
+  @Data
+  public static class Batching {
+    private boolean enabled = false;
+
+    /** Topics eligible for batching. Other topics are always published one event per record. */
+    private Set<String> topics = new HashSet<>();
+
+    /** Maximum number of events packed into one record. */
+    private int maxEvents = 50;
+
+    /** Events whose serialized payload is larger than this are published on their own. */
+    private int maxEventBytes = 1024;
+  }
 }
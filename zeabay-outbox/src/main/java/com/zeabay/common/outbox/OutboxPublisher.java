@@ -1,11 +1,13 @@
 package com.zeabay.common.outbox;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.HexFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import jakarta.annotation.PostConstruct;
@@ -14,7 +16,9 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import com.zeabay.common.kafka.ZeabayKafkaHeaders;
 import com.zeabay.common.logging.Loggable;
+import com.zeabay.common.trace.TraceContextCodec;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,51 +38,12 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class OutboxPublisher {
 
-  private static final java.security.SecureRandom SECURE_RANDOM = new SecureRandom();
+  private static final byte[] EMPTY_VALUE = new byte[0];
   private final OutboxEventRepository repository;
   private final KafkaTemplate<String, Object> kafkaTemplate;
   private final OutboxProperties properties;
   private final AtomicBoolean running = new AtomicBoolean(false);
 
-  /**
-   * Generates a W3C-compliant {@code traceparent} header value in the format {@code
-   * 00-{traceId32}-{spanId16}-01} for distributed tracing correlation.
-   *
-   * @param traceId the raw trace identifier (may be null, blank, or a 32-char hex string)
-   * @return a valid {@code traceparent} string
-   */
-  private static String formatTraceparent(String traceId) {
-    String traceId32 = to32Hex(traceId);
-    String spanId16 = HexFormat.of().formatHex(randomBytes(8));
-    return "00-" + traceId32 + "-" + spanId16 + "-01";
-  }
-
-  /**
-   * Normalises {@code traceId} to a 32-character lowercase hex string. Passes valid 32-char hex
-   * strings through unchanged; hashes everything else with SHA-256; returns zeros for null/blank.
-   *
-   * @param traceId the raw trace identifier
-   * @return a 32-character lowercase hex string
-   */
-  private static String to32Hex(String traceId) {
-    if (traceId != null && traceId.matches("[a-fA-F0-9]{32}")) return traceId.toLowerCase();
-    if (traceId == null || traceId.isBlank()) return "00000000000000000000000000000000";
-
-    try {
-      byte[] hash =
-          MessageDigest.getInstance("SHA-256").digest(traceId.getBytes(StandardCharsets.UTF_8));
-      return HexFormat.of().formatHex(hash).substring(0, 32);
-    } catch (NoSuchAlgorithmException e) {
-      return "00000000000000000000000000000000";
-    }
-  }
-
-  private static byte[] randomBytes(int length) {
-    byte[] bytes = new byte[length];
-    SECURE_RANDOM.nextBytes(bytes);
-    return bytes;
-  }
-
   @PostConstruct
   void logStartup() {
     log.info(
@@ -88,8 +53,9 @@ public class OutboxPublisher {
   }
 
   /**
-   * Scheduled polling loop. Fetches a batch of pending events and publishes each one to Kafka.
-   * Re-entrant calls are skipped via {@link AtomicBoolean} guard.
+   * Scheduled polling loop. Fetches a batch of pending events and publishes each one to Kafka, or
+   * one record per envelope group when {@link OutboxProperties.Batching} is enabled. Re-entrant
+   * calls are skipped via {@link AtomicBoolean} guard.
    */
   @Scheduled(
       initialDelayString = "${zeabay.outbox.initial-delay-ms:5000}",
@@ -102,18 +68,97 @@ public class OutboxPublisher {
         .collectList()
         .filter(events -> !events.isEmpty())
         .doOnNext(events -> log.info("Outbox poll: processing {} pending event(s)", events.size()))
-        .flatMapMany(Flux::fromIterable)
-        .flatMap(this::publish)
+        .flatMapMany(events -> Flux.fromIterable(groupForPublish(events)))
+        .flatMap(
+            group -> group.size() == 1 ? publish(group.getFirst()).flux() : publishBatch(group))
         .doFinally(_ -> running.set(false))
         .subscribe(
             _ -> {},
             err -> log.error("Outbox poll cycle failed (Check DB schema/connection)", err));
   }
 
+  /**
+   * Splits the polled events into publish units in {@code producedAt} order. Events eligible for
+   * batching are grouped by topic and aggregate ID and chunked by {@link
+   * OutboxProperties.Batching#getMaxEvents()}; each group takes the position of its first event. A
+   * non-batchable event forms a unit of its own and closes the open group of its key, so records of
+   * one key are always sent in {@code producedAt} order.
+   */
+  private List<List<OutboxEvent>> groupForPublish(List<OutboxEvent> events) {
+    OutboxProperties.Batching batching = properties.getBatching();
+    if (!batching.isEnabled() || batching.getTopics().isEmpty()) {
+      return events.stream().map(List::of).toList();
+    }
+
+    int maxEvents = Math.max(1, batching.getMaxEvents());
+    List<List<OutboxEvent>> units = new ArrayList<>();
+    Map<String, List<OutboxEvent>> openGroups = new HashMap<>();
+    events.stream()
+        .sorted(
+            Comparator.comparing(
+                OutboxEvent::getProducedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+        .forEach(
+            event -> {
+              // ':' cannot occur in Kafka topic names
+              String key = event.getTopic() + ':' + event.getAggregateId();
+              if (!isBatchable(event, batching)) {
+                openGroups.remove(key);
+                units.add(List.of(event));
+                return;
+              }
+              List<OutboxEvent> group = openGroups.get(key);
+              if (group == null || group.size() >= maxEvents) {
+                group = new ArrayList<>();
+                openGroups.put(key, group);
+                units.add(group);
+              }
+              group.add(event);
+            });
+    return units;
+  }
+
+  private static boolean isBatchable(OutboxEvent event, OutboxProperties.Batching batching) {
+    return event.getPayloadRef() == null
+        && event.getPayload() != null
+        && batching.getTopics().contains(event.getTopic())
+        && fitsInBytes(event.getPayload(), batching.getMaxEventBytes());
+  }
+
+  /**
+   * Whether {@code payload} encodes to at most {@code maxBytes} UTF-8 bytes. Bounds on the char
+   * count (1 to 3 bytes per char) settle most payloads; the rest are measured once, without
+   * encoding.
+   */
+  private static boolean fitsInBytes(String payload, int maxBytes) {
+    int length = payload.length();
+    if (length > maxBytes) return false;
+    if ((long) length * 3 <= maxBytes) return true;
+
+    long bytes = 0;
+    for (int i = 0; i < length && bytes <= maxBytes; i++) {
+      char c = payload.charAt(i);
+      if (c < 0x80) {
+        bytes += 1;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(payload.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes <= maxBytes;
+  }
+
   /**
    * Deserializes the event payload, builds a Kafka {@link ProducerRecord} with a W3C traceparent
-   * header, sends it, and marks the event {@link OutboxEvent.Status#PUBLISHED} on success or
-   * increments retry / marks {@link OutboxEvent.Status#FAILED} on error.
+   * header (claim-checked events are sent with an empty value and a {@link
+   * ZeabayKafkaHeaders#CLAIM_CHECK} header instead of the payload), sends it, and marks the event
+   * {@link OutboxEvent.Status#PUBLISHED} on success or increments retry / marks {@link
+   * OutboxEvent.Status#FAILED} on error.
    *
    * @param event the outbox event to publish
    * @return a {@link Mono} emitting the saved (updated) event
@@ -121,38 +166,118 @@ public class OutboxPublisher {
   private Mono<OutboxEvent> publish(OutboxEvent event) {
     return Mono.fromCallable(
             () -> {
-              String traceparent = formatTraceparent(event.getTraceId());
+              String traceparent = TraceContextCodec.traceparent(event.getTraceId());
+              boolean claimChecked = event.getPayloadRef() != null;
               ProducerRecord<String, Object> record =
                   new ProducerRecord<>(
-                      event.getTopic(), String.valueOf(event.getAggregateId()), event.getPayload());
-              record.headers().add("traceparent", traceparent.getBytes(StandardCharsets.UTF_8));
+                      event.getTopic(),
+                      String.valueOf(event.getAggregateId()),
+                      claimChecked ? EMPTY_VALUE : event.getPayload());
+              record
+                  .headers()
+                  .add(
+                      ZeabayKafkaHeaders.TRACEPARENT,
+                      traceparent.getBytes(StandardCharsets.UTF_8));
+              addTimingHeaders(record, event);
+              if (claimChecked) {
+                record
+                    .headers()
+                    .add(
+                        ZeabayKafkaHeaders.CLAIM_CHECK,
+                        event.getPayloadRef().getBytes(StandardCharsets.UTF_8));
+              }
               return kafkaTemplate.send(record);
             })
         .flatMap(Mono::fromFuture)
         .thenReturn(event)
-        .flatMap(
-            e -> {
-              e.setStatus(OutboxEvent.Status.PUBLISHED);
-              e.setPublishedAt(Instant.now());
-              log.info(
-                  "Outbox published: eventType={}, topic={}, aggregateId={}",
-                  e.getEventType(),
-                  e.getTopic(),
-                  e.getAggregateId());
-              return repository.save(e);
+        .flatMap(this::markPublished)
+        .onErrorResume(ex -> markFailed(event, ex));
+  }
+
+  /**
+   * Publishes a group of events sharing topic and aggregate ID as one record whose value is the
+   * JSON array of their payloads. The record carries the first (oldest) event's traceparent and
+   * timing headers; each element still holds its own {@code traceId}. All events of the envelope
+   * share the outcome of the send.
+   *
+   * @param events the events to pack, in publish order
+   * @return a {@link Flux} emitting the saved (updated) events
+   */
+  private Flux<OutboxEvent> publishBatch(List<OutboxEvent> events) {
+    OutboxEvent first = events.getFirst();
+    return Mono.fromCallable(
+            () -> {
+              StringJoiner envelope = new StringJoiner(",", "[", "]");
+              events.forEach(e -> envelope.add(e.getPayload()));
+              ProducerRecord<String, Object> record =
+                  new ProducerRecord<>(
+                      first.getTopic(),
+                      String.valueOf(first.getAggregateId()),
+                      envelope.toString());
+              addHeader(
+                  record,
+                  ZeabayKafkaHeaders.TRACEPARENT,
+                  TraceContextCodec.traceparent(first.getTraceId()));
+              addTimingHeaders(record, first);
+              record
+                  .headers()
+                  .add(
+                      ZeabayKafkaHeaders.BATCH_SIZE,
+                      String.valueOf(events.size()).getBytes(StandardCharsets.UTF_8));
+              return kafkaTemplate.send(record);
             })
-        .onErrorResume(
-            ex -> {
-              log.warn(
-                  "Outbox publish failed: eventType={}, retry={}, error={}",
-                  event.getEventType(),
-                  event.getRetryCount(),
-                  ex.getMessage());
-              if (event.getRetryCount() >= properties.getMaxRetries()) {
-                event.setStatus(OutboxEvent.Status.FAILED);
-                log.error("Outbox event permanently failed: eventId={}", event.getId());
-              }
-              return repository.save(event);
-            });
+        .flatMap(Mono::fromFuture)
+        .doOnNext(
+            _ ->
+                log.info(
+                    "Outbox published envelope: topic={}, aggregateId={}, events={}",
+                    first.getTopic(),
+                    first.getAggregateId(),
+                    events.size()))
+        .flatMapMany(_ -> Flux.fromIterable(events).concatMap(this::markPublished))
+        .onErrorResume(ex -> Flux.fromIterable(events).concatMap(e -> markFailed(e, ex)));
+  }
+
+  /**
+   * Adds the outbox insert time, the publish time and the producing service as headers, from which
+   * consumers derive the end-to-end latency breakdown.
+   */
+  private static void addTimingHeaders(ProducerRecord<String, Object> record, OutboxEvent event) {
+    if (event.getProducedAt() != null) {
+      long producedAt = event.getProducedAt().toEpochMilli();
+      addHeader(record, ZeabayKafkaHeaders.PRODUCED_AT, String.valueOf(producedAt));
+    }
+    addHeader(record, ZeabayKafkaHeaders.PUBLISHED_AT, String.valueOf(System.currentTimeMillis()));
+    if (event.getProducedFrom() != null) {
+      addHeader(record, ZeabayKafkaHeaders.PRODUCED_FROM, event.getProducedFrom());
+    }
+  }
+
+  private static void addHeader(ProducerRecord<String, Object> record, String name, String value) {
+    record.headers().add(name, value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Mono<OutboxEvent> markPublished(OutboxEvent event) {
+    event.setStatus(OutboxEvent.Status.PUBLISHED);
+    event.setPublishedAt(Instant.now());
+    log.info(
+        "Outbox published: eventType={}, topic={}, aggregateId={}",
+        event.getEventType(),
+        event.getTopic(),
+        event.getAggregateId());
+    return repository.save(event);
+  }
+
+  private Mono<OutboxEvent> markFailed(OutboxEvent event, Throwable ex) {
+    log.warn(
+        "Outbox publish failed: eventType={}, retry={}, error={}",
+        event.getEventType(),
+        event.getRetryCount(),
+        ex.getMessage());
+    if (event.getRetryCount() >= properties.getMaxRetries()) {
+      event.setStatus(OutboxEvent.Status.FAILED);
+      log.error("Outbox event permanently failed: eventId={}", event.getId());
+    }
+    return repository.save(event);
   }
 }
@@ -0,0 +1,9 @@
+-- =============================================================
+-- outbox_events claim-check reference — managed by zeabay-outbox (Flyway)
+-- =============================================================
+
+-- Repeatable (R__) so it runs after every versioned migration: a V0_x version would sit below
+-- service migrations already applied in the shared history and fail validation. Idempotent.
+
+-- Set when the payload was offloaded to a ClaimCheckStore; payload is then empty.
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS payload_ref VARCHAR(512);
@@ -3,6 +3,7 @@ package com.zeabay.common.autoconfigure;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
@@ -10,7 +11,14 @@ import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.zeabay.common.cache.ResponseCacheStore;
+import com.zeabay.common.ratelimit.RateLimitStore;
+import com.zeabay.common.redis.RedisRateLimitStore;
+import com.zeabay.common.redis.RedisResponseCacheStore;
+import com.zeabay.common.redis.RedisTsidNodeLease;
 import com.zeabay.common.redis.ZeabayRedisProperties;
+import com.zeabay.common.tsid.TsidNodeLease;
+import com.zeabay.common.tsid.ZeabayTsidProperties;
 
 /**
  * Autoconfigures a reactive Redis template with String serialization.
@@ -20,7 +28,7 @@ import com.zeabay.common.redis.ZeabayRedisProperties;
  */
 @AutoConfiguration
 @ConditionalOnClass(ReactiveRedisTemplate.class)
-@EnableConfigurationProperties(ZeabayRedisProperties.class)
+@EnableConfigurationProperties({ZeabayRedisProperties.class, ZeabayTsidProperties.class})
 public class ZeabayRedisAutoConfiguration {
 
   /**
@@ -40,4 +48,41 @@ public class ZeabayRedisAutoConfiguration {
             .build();
     return new ReactiveRedisTemplate<>(connectionFactory, context);
   }
+
+  /**
+   * Leases a unique TSID node ID from Redis for {@code tsidGenerator}. Enabled with {@code
+   * zeabay.tsid.lease.enabled=true}.
+   */
+  @Bean(destroyMethod = "release")
+  @ConditionalOnMissingBean(TsidNodeLease.class)
+  @ConditionalOnProperty(name = "zeabay.tsid.lease.enabled", havingValue = "true")
+  public RedisTsidNodeLease zeabayRedisTsidNodeLease(
+      ReactiveRedisTemplate<String, String> zeabayReactiveRedisTemplate,
+      ZeabayRedisProperties redisProperties,
+      ZeabayTsidProperties tsidProperties) {
+    ZeabayTsidProperties.Lease lease = tsidProperties.getLease();
+    return new RedisTsidNodeLease(
+        zeabayReactiveRedisTemplate,
+        redisProperties.getPrefix(),
+        lease.getTtl(),
+        lease.getHeartbeat());
+  }
+
+  /** Backs {@code @ZeabayCacheable} endpoints with Redis, under {@code zeabay.redis.prefix}. */
+  @Bean
+  @ConditionalOnMissingBean(ResponseCacheStore.class)
+  public RedisResponseCacheStore zeabayRedisResponseCacheStore(
+      ReactiveRedisTemplate<String, String> zeabayReactiveRedisTemplate,
+      ZeabayRedisProperties redisProperties) {
+    return new RedisResponseCacheStore(zeabayReactiveRedisTemplate, redisProperties.getPrefix());
+  }
+
+  /** Shares {@code zeabay.security.rate-limit} token buckets across instances. */
+  @Bean
+  @ConditionalOnMissingBean(RateLimitStore.class)
+  public RedisRateLimitStore zeabayRedisRateLimitStore(
+      ReactiveRedisTemplate<String, String> zeabayReactiveRedisTemplate,
+      ZeabayRedisProperties redisProperties) {
+    return new RedisRateLimitStore(zeabayReactiveRedisTemplate, redisProperties.getPrefix());
+  }
 }
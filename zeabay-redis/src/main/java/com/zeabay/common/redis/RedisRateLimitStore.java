@@ -0,0 +1,71 @@
+package com.zeabay.common.redis;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.zeabay.common.ratelimit.RateLimitDecision;
+import com.zeabay.common.ratelimit.RateLimitStore;
+
+/**
+ * {@link RateLimitStore} keeping each token bucket as a Redis hash under {@code
+ * <prefix>:rate-limit:<key>} ({@code tokens}, {@code ts}), refilled and decremented atomically by
+ * one Lua script per request.
+ *
+ * <p>The script reads the clock with {@code TIME}, so instances with skewed clocks share buckets
+ * correctly. Buckets expire after one refill period without requests, when they would be full
+ * again anyway.
+ */
+public class RedisRateLimitStore implements RateLimitStore {
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static final RedisScript<List<Long>> ACQUIRE =
+      (RedisScript)
+          RedisScript.of(
+              """
+              local capacity = tonumber(ARGV[1])
+              local period = tonumber(ARGV[2])
+              local time = redis.call('time')
+              local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+              local bucket = redis.call('hmget', KEYS[1], 'tokens', 'ts')
+              local tokens = tonumber(bucket[1]) or capacity
+              local ts = tonumber(bucket[2]) or now
+              tokens = math.min(capacity, tokens + math.max(0, now - ts) * capacity / period)
+              local allowed = 0
+              local retry = 0
+              if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+              else
+                retry = math.ceil((1 - tokens) * period / capacity)
+              end
+              redis.call('hset', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+              redis.call('pexpire', KEYS[1], period)
+              return {allowed, math.floor(tokens), retry}
+              """,
+              List.class);
+
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final String keyPrefix;
+
+  public RedisRateLimitStore(ReactiveRedisTemplate<String, String> redis, String prefix) {
+    this.redis = redis;
+    this.keyPrefix = prefix + ":rate-limit:";
+  }
+
+  @Override
+  public CompletableFuture<RateLimitDecision> tryAcquire(
+      String key, long capacity, Duration period) {
+    return redis
+        .execute(
+            ACQUIRE,
+            List.of(keyPrefix + key),
+            List.of(String.valueOf(capacity), String.valueOf(period.toMillis())))
+        .next()
+        .map(result -> new RateLimitDecision(result.get(0) == 1L, result.get(1), result.get(2)))
+        .toFuture();
+  }
+}
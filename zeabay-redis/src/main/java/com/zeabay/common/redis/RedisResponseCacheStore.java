@@ -0,0 +1,120 @@
+package com.zeabay.common.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.zeabay.common.cache.CachedResponse;
+import com.zeabay.common.cache.ResponseCacheStore;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ResponseCacheStore} keeping each entry as one Redis string under {@code
+ * <prefix>:response-cache:<key>}: a tab-separated header line ({@code contentType, createdAt,
+ * freshUntil, traceIdStart, traceIdEnd, etag, lastModified}, with an empty {@code etag} for none)
+ * followed by the UTF-8 body. Refresh locks live under {@code <prefix>:response-cache-lock:<key>},
+ * holding the holder's token, and are only deleted by that holder.
+ */
+@Slf4j
+public class RedisResponseCacheStore implements ResponseCacheStore {
+
+  private static final RedisScript<Long> UNLOCK =
+      RedisScript.of(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then"
+              + " return redis.call('del', KEYS[1]) else return 0 end",
+          Long.class);
+
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final String keyPrefix;
+  private final String lockPrefix;
+
+  public RedisResponseCacheStore(ReactiveRedisTemplate<String, String> redis, String prefix) {
+    this.redis = redis;
+    this.keyPrefix = prefix + ":response-cache:";
+    this.lockPrefix = prefix + ":response-cache-lock:";
+  }
+
+  @Override
+  public CompletableFuture<CachedResponse> get(String key) {
+    return redis
+        .opsForValue()
+        .get(keyPrefix + key)
+        .mapNotNull(value -> decode(key, value))
+        .toFuture();
+  }
+
+  @Override
+  public CompletableFuture<Void> put(
+      String key, CachedResponse response, Duration retention, String token) {
+    return redis
+        .opsForValue()
+        .set(keyPrefix + key, encode(response), retention)
+        .then(release(key, token))
+        .toFuture();
+  }
+
+  @Override
+  public CompletableFuture<Boolean> tryLock(String key, String token, Duration timeout) {
+    return redis
+        .opsForValue()
+        .setIfAbsent(lockPrefix + key, token, timeout)
+        .defaultIfEmpty(false)
+        .toFuture();
+  }
+
+  @Override
+  public CompletableFuture<Void> unlock(String key, String token) {
+    return release(key, token).toFuture();
+  }
+
+  private Mono<Void> release(String key, String token) {
+    return redis.execute(UNLOCK, List.of(lockPrefix + key), List.of(token)).then();
+  }
+
+  private static String encode(CachedResponse response) {
+    return response.contentType()
+        + '\t'
+        + response.createdAt()
+        + '\t'
+        + response.freshUntil()
+        + '\t'
+        + response.traceIdStart()
+        + '\t'
+        + response.traceIdEnd()
+        + '\t'
+        + (response.etag() != null ? response.etag() : "")
+        + '\t'
+        + response.lastModified()
+        + '\n'
+        + new String(response.body(), StandardCharsets.UTF_8);
+  }
+
+  private static CachedResponse decode(String key, String value) {
+    int newline = value.indexOf('\n');
+    String[] header = newline > 0 ? value.substring(0, newline).split("\t", -1) : new String[0];
+    if (header.length != 7) {
+      log.warn("Ignoring malformed response cache entry: key={}", key);
+      return null;
+    }
+    try {
+      return new CachedResponse(
+          header[0],
+          value.substring(newline + 1).getBytes(StandardCharsets.UTF_8),
+          Integer.parseInt(header[3]),
+          Integer.parseInt(header[4]),
+          header[5].isEmpty() ? null : header[5],
+          Long.parseLong(header[6]),
+          Long.parseLong(header[1]),
+          Long.parseLong(header[2]));
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring malformed response cache entry: key={}", key);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package com.zeabay.common.redis;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.zeabay.common.tsid.TsidNodeLease;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link TsidNodeLease} backed by one Redis key per node ID ({@code <prefix>:tsid:node:<id>}),
+ * claimed with {@code SET NX PX} and renewed by a heartbeat thread only while it still holds this
+ * instance's token.
+ *
+ * <p>The lease is fenced ({@link #currentNodeId()} returns {@code -1}, so {@code TsidGenerator}
+ * refuses to issue IDs) as soon as a renewal finds the key gone or owned by another instance (e.g.
+ * after a long GC pause or a Redis failover), when renewals keep failing until the lease may expire
+ * before the next attempt, and in any case once the last confirmed TTL has run out, whether or not
+ * the heartbeat got to run. A fenced lease re-claims its node ID, or else any free one, and lifts
+ * the fence only once it holds it again.
+ */
+@Slf4j
+public class RedisTsidNodeLease implements TsidNodeLease {
+
+  private static final RedisScript<Long> RENEW =
+      RedisScript.of(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then"
+              + " return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+          Long.class);
+
+  private static final RedisScript<Long> RELEASE =
+      RedisScript.of(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then"
+              + " return redis.call('del', KEYS[1]) else return 0 end",
+          Long.class);
+
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final String keyPrefix;
+  private final Duration ttl;
+  private final Duration heartbeat;
+  private final String token = UUID.randomUUID().toString();
+
+  private ScheduledExecutorService scheduler;
+  private int nodeCount;
+  private volatile String key;
+  private volatile int nodeId = -1;
+  private volatile boolean fenced;
+
+  /** {@link System#nanoTime()} until which the lease is known to be held. */
+  private volatile long heldUntil;
+
+  public RedisTsidNodeLease(
+      ReactiveRedisTemplate<String, String> redis,
+      String prefix,
+      Duration ttl,
+      Duration heartbeat) {
+    if (!heartbeat.isPositive() || heartbeat.compareTo(ttl) >= 0) {
+      throw new IllegalArgumentException(
+          "zeabay.tsid.lease.heartbeat ("
+              + heartbeat
+              + ") must be positive and below zeabay.tsid.lease.ttl ("
+              + ttl
+              + ")");
+    }
+    this.redis = redis;
+    this.keyPrefix = prefix + ":tsid:node:";
+    this.ttl = ttl;
+    this.heartbeat = heartbeat;
+  }
+
+  @Override
+  public synchronized int acquire(int nodeCount) {
+    this.nodeCount = nodeCount;
+    if (!claimAny()) {
+      throw new IllegalStateException("All " + nodeCount + " TSID node IDs are leased");
+    }
+    startHeartbeat();
+    log.info("TSID node ID leased: nodeId={}, ttl={}", nodeId, ttl);
+    return nodeId;
+  }
+
+  @Override
+  public int currentNodeId() {
+    return fenced || System.nanoTime() - heldUntil >= 0 ? -1 : nodeId;
+  }
+
+  @Override
+  public synchronized void release() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+    fenced = true;
+    String leased = key;
+    if (leased == null) return;
+    key = null;
+    try {
+      redis.execute(RELEASE, List.of(leased), List.of(token)).blockLast(Duration.ofSeconds(5));
+      log.info("TSID node lease released: key={}", leased);
+    } catch (RuntimeException e) {
+      log.warn("TSID node lease release failed, it will expire: key={}", leased, e);
+    }
+  }
+
+  /** Claims the first free node ID from a random start. Blocks on Redis. */
+  private boolean claimAny() {
+    int start = ThreadLocalRandom.current().nextInt(nodeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      int candidate = (start + i) % nodeCount;
+      if (claim(keyPrefix + candidate)) {
+        nodeId = candidate;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean claim(String candidate) {
+    long started = System.nanoTime();
+    if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(candidate, token, ttl).block())) {
+      return false;
+    }
+    key = candidate;
+    heldUntil = started + ttl.toNanos();
+    return true;
+  }
+
+  private void startHeartbeat() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("zeabay-tsid-lease").daemon().unstarted(r));
+    long millis = heartbeat.toMillis();
+    scheduler.scheduleWithFixedDelay(this::renew, millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  private synchronized void renew() {
+    String leased = key;
+    if (leased == null) return;
+    long started = System.nanoTime();
+    try {
+      Long renewed =
+          redis
+              .execute(RENEW, List.of(leased), List.of(token, String.valueOf(ttl.toMillis())))
+              .next()
+              .block(heartbeat);
+      if (renewed != null && renewed == 1L) {
+        heldUntil = started + ttl.toNanos();
+      } else {
+        fence(leased, "expired or was taken by another instance");
+        if (claim(leased)) {
+          log.warn("TSID node lease had expired and was re-acquired: key={}", leased);
+        } else if (claimAny()) {
+          log.warn("TSID node lease lost to another instance, leased nodeId={} instead", nodeId);
+        } else {
+          log.error("TSID node lease not re-acquired, no node ID is free");
+          return;
+        }
+      }
+      if (fenced) {
+        fenced = false;
+        log.info("TSID node lease restored: nodeId={}", nodeId);
+      }
+    } catch (RuntimeException e) {
+      log.warn("TSID node lease renewal failed: key={}, error={}", leased, e.getMessage());
+      // The next attempt ends at most two heartbeats from now (delay + blocking timeout)
+      if (System.nanoTime() + 2 * heartbeat.toNanos() - heldUntil >= 0) {
+        fence(leased, "may expire before the next renewal");
+      }
+    }
+  }
+
+  private void fence(String leased, String reason) {
+    if (!fenced) {
+      fenced = true;
+      log.error("TSID node lease {}, ID generation paused: key={}", reason, leased);
+    }
+  }
+}
@@ -5,9 +5,12 @@ import java.net.URI;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
+import com.zeabay.common.claimcheck.ClaimCheckStore;
+import com.zeabay.common.s3.S3ClaimCheckStore;
 import com.zeabay.common.s3.ZeabayS3Properties;
 
 import lombok.RequiredArgsConstructor;
@@ -63,6 +66,21 @@ public class ZeabayS3AutoConfiguration {
         .build();
   }
 
+  /**
+   * Creates the claim-check store used by the outbox and Kafka modules to offload large event
+   * payloads. Enabled with {@code zeabay.s3.claim-check.enabled=true}.
+   */
+  @Bean
+  @ConditionalOnMissingBean(ClaimCheckStore.class)
+  @ConditionalOnProperty(name = "zeabay.s3.claim-check.enabled", havingValue = "true")
+  public ClaimCheckStore zeabayS3ClaimCheckStore(S3AsyncClient zeabayS3AsyncClient) {
+    ZeabayS3Properties.ClaimCheck claimCheck = properties.getClaimCheck();
+    String bucket =
+        claimCheck.getBucket() != null ? claimCheck.getBucket() : properties.getBucket();
+    log.info("[zeabay-s3] Claim-check store enabled: s3://{}/{}", bucket, claimCheck.getPrefix());
+    return new S3ClaimCheckStore(zeabayS3AsyncClient, bucket, claimCheck.getPrefix());
+  }
+
   private StaticCredentialsProvider credentialsProvider() {
     return StaticCredentialsProvider.create(
         AwsBasicCredentials.create(properties.getAccessKey(), properties.getSecretKey()));
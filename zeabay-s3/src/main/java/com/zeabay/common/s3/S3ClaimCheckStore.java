@@ -0,0 +1,66 @@
+package com.zeabay.common.s3;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.zeabay.common.claimcheck.ClaimCheckStore;
+
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * {@link ClaimCheckStore} backed by {@link S3AsyncClient}. References use the {@code
+ * s3://bucket/key} form.
+ *
+ * <p>Objects are never deleted by the platform: consumers may be replayed from older offsets.
+ * Configure a bucket lifecycle rule on the claim-check prefix to expire them after the topic
+ * retention period.
+ */
+@RequiredArgsConstructor
+public class S3ClaimCheckStore implements ClaimCheckStore {
+
+  private static final String SCHEME = "s3://";
+
+  private final S3AsyncClient s3;
+  private final String bucket;
+  private final String prefix;
+
+  @Override
+  public CompletableFuture<String> store(String key, byte[] payload) {
+    String objectKey = prefix + key;
+    PutObjectRequest request =
+        PutObjectRequest.builder()
+            .bucket(bucket)
+            .key(objectKey)
+            .contentType("application/json")
+            .contentLength((long) payload.length)
+            .build();
+    return s3.putObject(request, AsyncRequestBody.fromBytesUnsafe(payload))
+        .thenApply(_ -> SCHEME + bucket + "/" + objectKey);
+  }
+
+  /** Streams the object body; the HTTP response is consumed as the caller reads. */
+  @Override
+  public InputStream open(String reference) throws IOException {
+    int slash = reference.startsWith(SCHEME) ? reference.indexOf('/', SCHEME.length()) : -1;
+    if (slash < 0) {
+      throw new IOException("Not an S3 claim-check reference: " + reference);
+    }
+    GetObjectRequest request =
+        GetObjectRequest.builder()
+            .bucket(reference.substring(SCHEME.length(), slash))
+            .key(reference.substring(slash + 1))
+            .build();
+    try {
+      return s3.getObject(request, AsyncResponseTransformer.toBlockingInputStream()).join();
+    } catch (CompletionException e) {
+      throw new IOException("Failed to fetch claim-check payload " + reference, e.getCause());
+    }
+  }
+}
@@ -42,9 +42,27 @@ public class ZeabayS3Properties {
   /** Allowed MIME types for file uploads. Default: JPEG, PNG, WebP. */
   private Set<String> allowedContentTypes = Set.of("image/jpeg", "image/png", "image/webp");
 
+  /** Claim-check storage for large event payloads. */
+  private ClaimCheck claimCheck = new ClaimCheck();
+
   /** Excludes credentials — only logs endpoint and bucket. */
   @Override
   public String toString() {
     return "ZeabayS3Properties{endpoint='%s', bucket='%s'}".formatted(endpoint, bucket);
   }
+
+  /** Claim-check settings (prefix: {@code zeabay.s3.claim-check}). */
+  @Getter
+  @Setter
+  public static class ClaimCheck {
+
+    /** Registers an S3-backed {@code ClaimCheckStore}. Default: false. */
+    private boolean enabled = false;
+
+    /** Bucket for offloaded payloads. Defaults to {@code zeabay.s3.bucket}. */
+    private String bucket;
+
+    /** Key prefix for offloaded payloads; target of the expiry lifecycle rule. */
+    private String prefix = "claim-check/";
+  }
 }
@@ -4,13 +4,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.domain.ReactiveAuditorAware;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
@@ -23,8 +27,13 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.zeabay.common.r2dbc.ZeabayReactiveAuditorAware;
+import com.zeabay.common.ratelimit.RateLimitStore;
 import com.zeabay.common.security.ZeabaySecurityProperties;
+import com.zeabay.common.security.ZeabayUserContextWebFilter;
+import com.zeabay.common.security.ratelimit.ZeabayRateLimitWebFilter;
 
 import reactor.core.publisher.Flux;
 
@@ -33,7 +42,9 @@ import reactor.core.publisher.Flux;
  *
  * <p>Public paths from {@link ZeabaySecurityProperties} and actuator endpoints are always
  * permitted. When a {@link ReactiveJwtDecoder} bean is present, OAuth2 resource server is
- * configured automatically.
+ * configured automatically. With {@code zeabay.security.rate-limit.enabled=true} (and {@code
+ * zeabay-webflux} on the classpath), requests are rate limited per {@link
+ * ZeabaySecurityProperties.RateLimit}.
  */
 // beforeName (string) instead of before (class ref) — ZeabayR2dbcAuditingAutoConfiguration is
 // an optional dependency; using the class literal would cause ClassNotFoundException on the
@@ -151,4 +162,33 @@ public class ZeabaySecurityAutoConfiguration {
   public ReactiveAuditorAware<String> zeabayReactiveAuditorAware() {
     return new ZeabayReactiveAuditorAware();
   }
+
+  /** Replaces the anonymous request user in the Reactor context with the principal's name. */
+  @Bean
+  @Order(ZeabayUserContextWebFilter.ORDER)
+  @ConditionalOnMissingBean
+  public ZeabayUserContextWebFilter zeabayUserContextWebFilter() {
+    return new ZeabayUserContextWebFilter();
+  }
+
+  /**
+   * Registers the rate-limiting filter, sharing buckets through a {@link RateLimitStore} (e.g. from
+   * {@code zeabay-redis}) when one is available.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(name = "com.zeabay.common.web.ZeabayResponses")
+  @ConditionalOnProperty(name = "zeabay.security.rate-limit.enabled", havingValue = "true")
+  static class RateLimitConfiguration {
+
+    @Bean
+    @Order(ZeabayRateLimitWebFilter.ORDER)
+    @ConditionalOnMissingBean
+    public ZeabayRateLimitWebFilter zeabayRateLimitWebFilter(
+        ZeabaySecurityProperties securityProps,
+        ObjectProvider<RateLimitStore> store,
+        ObjectMapper objectMapper) {
+      return new ZeabayRateLimitWebFilter(
+          securityProps.getRateLimit(), store.getIfAvailable(), objectMapper);
+    }
+  }
 }
@@ -33,6 +33,19 @@ import lombok.Data;
  * - "*"
  * allow-credentials: true
  * max-age: 1h
+ * rate-limit:
+ *   enabled: true
+ *   trusted-proxies: 1   # one load balancer appending to X-Forwarded-For
+ *   rules:
+ *     - path: /api/v1/auth/login
+ *       method: POST
+ *       key: ip
+ *       capacity: 10
+ *       period: 1m
+ *     - path: /api/v1/**
+ *       key: user
+ *       capacity: 600
+ *       period: 1m
  * </pre>
  */
 @Data
@@ -44,6 +57,8 @@ public class ZeabaySecurityProperties {
 
   private Cors cors = new Cors();
 
+  private RateLimit rateLimit = new RateLimit();
+
   @Data
   public static class Cors {
     /** Whether CORS configuration is enabled for this service. Default false (rely on Gateway). */
@@ -59,4 +74,60 @@ public class ZeabaySecurityProperties {
     /** Pre-flight cache duration. Default: 1 hour. yml: {@code max-age: 1h} */
     private Duration maxAge = Duration.ofHours(1);
   }
+
+  @Data
+  public static class RateLimit {
+    /** Whether the rate-limiting WebFilter is registered. Default false. */
+    private boolean enabled = false;
+
+    /** Rules matched in order; the first one matching a request applies. */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Max wait for the shared (Redis) bucket before deciding with the local bucket. Default: 50ms.
+     */
+    private Duration storeTimeout = Duration.ofMillis(50);
+
+    /** How long to keep using local buckets after the shared store failed. Default: 5s. */
+    private Duration fallbackPeriod = Duration.ofSeconds(5);
+
+    /** Max local buckets kept in memory; idle ones are evicted first. Default: 100000. */
+    private int maxLocalBuckets = 100_000;
+
+    /**
+     * Reverse proxies in front of the service that append to {@code X-Forwarded-For}. IP buckets
+     * use the entry added by the outermost one; {@code 0} (default) uses the remote address, which
+     * is also right when forwarded headers are already applied (e.g. {@code
+     * server.forward-headers-strategy=framework}).
+     */
+    private int trustedProxies = 0;
+  }
+
+  @Data
+  public static class Rule {
+    /** Path pattern, e.g. {@code /api/v1/auth/**}. */
+    private String path;
+
+    /** HTTP method the rule applies to; all methods if unset. */
+    private String method;
+
+    /** What a bucket is kept per. Default: {@link RateLimitKey#IP}. */
+    private RateLimitKey key = RateLimitKey.IP;
+
+    /** Bucket size, i.e. the allowed burst. */
+    private long capacity = 100;
+
+    /** Time to refill an empty bucket, i.e. {@code capacity} requests per period. Default: 1m. */
+    private Duration period = Duration.ofMinutes(1);
+  }
+
+  /** What a rate limit bucket is kept per. */
+  public enum RateLimitKey {
+    /** Client IP: the remote address, or per {@link RateLimit#getTrustedProxies()}. */
+    IP,
+    /** Authenticated principal name; the client IP for anonymous requests. */
+    USER,
+    /** One bucket for the whole rule, shared by all clients. */
+    ROUTE
+  }
 }
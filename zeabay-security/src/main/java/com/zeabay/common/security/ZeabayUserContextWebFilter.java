@@ -0,0 +1,48 @@
+package com.zeabay.common.security;
+
+import java.util.Optional;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.context.RequestMetadata;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Writes the authenticated principal's name into the Reactor context as the request user, in place
+ * of the {@code anonymous} placeholder set by the request context filter. Updates the {@link
+ * RequestMetadata} entry when present, else the {@link ZeabayConstants#USER_CTX_KEY} key, so
+ * logging and MDC show the user in both propagation modes.
+ *
+ * <p>Runs right after Spring Security's filter chain ({@link #ORDER}), which resolves the
+ * principal. Anonymous requests pass through unchanged.
+ */
+public class ZeabayUserContextWebFilter implements WebFilter {
+
+  /** After Spring Security's {@code WebFilterChainProxy} ({@code -100}). */
+  public static final int ORDER = -90;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    return exchange
+        .getPrincipal()
+        .map(principal -> Optional.of(principal.getName()))
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(
+            user ->
+                user.isEmpty()
+                    ? chain.filter(exchange)
+                    : chain.filter(exchange).contextWrite(ctx -> withUser(ctx, user.get())));
+  }
+
+  private static Context withUser(Context ctx, String user) {
+    RequestMetadata metadata = ctx.getOrDefault(RequestMetadata.CTX_KEY, null);
+    return metadata != null
+        ? ctx.put(RequestMetadata.CTX_KEY, metadata.withUser(user))
+        : ctx.put(ZeabayConstants.USER_CTX_KEY, user);
+  }
+}
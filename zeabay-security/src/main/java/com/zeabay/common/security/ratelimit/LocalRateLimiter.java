@@ -0,0 +1,91 @@
+package com.zeabay.common.security.ratelimit;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.zeabay.common.ratelimit.RateLimitDecision;
+import com.zeabay.common.ratelimit.RateLimitStore;
+
+/**
+ * In-memory token buckets with the same semantics as a {@link RateLimitStore}, used when no store
+ * is configured or the shared one is slow. Limits then apply per instance.
+ *
+ * <p>At most {@code maxBuckets} buckets are kept: when a new key arrives at the limit, buckets
+ * that have refilled completely (and so carry no state) are evicted, then the least recently used
+ * ones until a tenth of the space is free. Clients still sending requests keep their buckets, so a
+ * flood of new keys cannot reset them.
+ */
+public class LocalRateLimiter {
+
+  private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+  private final int maxBuckets;
+
+  public LocalRateLimiter(int maxBuckets) {
+    this.maxBuckets = maxBuckets;
+  }
+
+  /** Takes one token from the bucket of {@code key}; see {@link RateLimitStore#tryAcquire}. */
+  public RateLimitDecision tryAcquire(String key, long capacity, Duration period) {
+    long now = System.nanoTime();
+    Bucket bucket = buckets.get(key);
+    if (bucket == null) {
+      if (buckets.size() >= maxBuckets) evict(now);
+      bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, period.toNanos(), now));
+    }
+    return bucket.take(now);
+  }
+
+  private synchronized void evict(long now) {
+    if (buckets.size() < maxBuckets) return;
+    buckets.values().removeIf(bucket -> bucket.isFull(now));
+
+    int excess = buckets.size() - (maxBuckets - Math.max(1, maxBuckets / 10));
+    if (excess <= 0) return;
+    // Snapshot the use times first: they keep changing while the snapshot is sorted
+    buckets.entrySet().stream()
+        .map(entry -> new LastUse(entry.getKey(), entry.getValue().lastUsed()))
+        .toList()
+        .stream()
+        .sorted(Comparator.comparingLong(LastUse::at))
+        .limit(excess)
+        .forEach(use -> buckets.remove(use.key()));
+  }
+
+  private record LastUse(String key, long at) {}
+
+  private static final class Bucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long updatedAt;
+
+    Bucket(long capacity, long periodNanos, long now) {
+      this.capacity = capacity;
+      this.tokensPerNano = (double) capacity / periodNanos;
+      this.tokens = capacity;
+      this.updatedAt = now;
+    }
+
+    synchronized RateLimitDecision take(long now) {
+      tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+      updatedAt = now;
+      if (tokens >= 1) {
+        tokens -= 1;
+        return new RateLimitDecision(true, (long) tokens, 0);
+      }
+      long retryNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+      return new RateLimitDecision(false, 0, (retryNanos + 999_999) / 1_000_000);
+    }
+
+    synchronized long lastUsed() {
+      return updatedAt;
+    }
+
+    synchronized boolean isFull(long now) {
+      return tokens + (now - updatedAt) * tokensPerNano >= capacity;
+    }
+  }
+}
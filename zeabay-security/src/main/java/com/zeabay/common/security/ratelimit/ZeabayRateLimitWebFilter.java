@@ -0,0 +1,209 @@
+package com.zeabay.common.security.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.zeabay.common.api.exception.ErrorCode;
+import com.zeabay.common.ratelimit.RateLimitDecision;
+import com.zeabay.common.ratelimit.RateLimitStore;
+import com.zeabay.common.security.ZeabaySecurityProperties;
+import com.zeabay.common.security.ZeabaySecurityProperties.RateLimitKey;
+import com.zeabay.common.web.ZeabayResponses;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects requests over the token bucket limits of {@code zeabay.security.rate-limit.rules} with
+ * {@code 429 RATE_LIMIT_EXCEEDED}, before they reach handlers and the services behind them
+ * (Keycloak, the database).
+ *
+ * <p>The first rule matching the request's path and method applies; requests matching no rule
+ * pass untouched. Buckets live in the {@link RateLimitStore} so limits hold across instances. When
+ * there is no store, or it fails or does not answer within {@code store-timeout}, the decision is
+ * made with a {@link LocalRateLimiter} instead, and the store is left alone for {@code
+ * fallback-period} so a slow Redis does not add its timeout to every request.
+ *
+ * <p>IP buckets are keyed on the remote address, or on the {@code X-Forwarded-For} entry added by
+ * the outermost trusted proxy when {@code trusted-proxies} is set; client-supplied entries are
+ * ignored.
+ *
+ * <p>Every limited response carries {@code X-RateLimit-Limit} and {@code X-RateLimit-Remaining};
+ * rejections also carry {@code Retry-After} in seconds.
+ */
+@Slf4j
+public class ZeabayRateLimitWebFilter implements WebFilter {
+
+  /**
+   * Filter order: after Spring Security's {@code WebFilterChainProxy} ({@code -100}) so the
+   * principal is known, before the response cache ({@code 0}).
+   */
+  public static final int ORDER = -50;
+
+  public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+  public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+  private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+  private final List<Rule> rules;
+  private final RateLimitStore store;
+  private final LocalRateLimiter local;
+  private final ObjectMapper objectMapper;
+  private final Duration storeTimeout;
+  private final Duration fallbackPeriod;
+  private final int trustedProxies;
+
+  /** {@link System#nanoTime()} until which the store is bypassed. */
+  private volatile long fallbackUntil = System.nanoTime();
+
+  /**
+   * @param store the shared bucket store, or {@code null} to use local buckets only
+   */
+  public ZeabayRateLimitWebFilter(
+      ZeabaySecurityProperties.RateLimit properties,
+      RateLimitStore store,
+      ObjectMapper objectMapper) {
+    this.rules = properties.getRules().stream().map(Rule::of).toList();
+    this.store = store;
+    this.local = new LocalRateLimiter(properties.getMaxLocalBuckets());
+    this.objectMapper = objectMapper;
+    this.storeTimeout = properties.getStoreTimeout();
+    this.fallbackPeriod = properties.getFallbackPeriod();
+    this.trustedProxies = properties.getTrustedProxies();
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    Rule rule = match(exchange.getRequest());
+    if (rule == null) return chain.filter(exchange);
+
+    return bucketKey(exchange, rule)
+        .flatMap(
+            key ->
+                acquire(key, rule)
+                    .flatMap(decision -> apply(exchange, chain, rule, key, decision)));
+  }
+
+  private Rule match(ServerHttpRequest request) {
+    PathContainer path = request.getPath().pathWithinApplication();
+    HttpMethod method = request.getMethod();
+    for (Rule rule : rules) {
+      if ((rule.method() == null || rule.method().equals(method)) && rule.pattern().matches(path)) {
+        return rule;
+      }
+    }
+    return null;
+  }
+
+  private Mono<String> bucketKey(ServerWebExchange exchange, Rule rule) {
+    return switch (rule.key()) {
+      case ROUTE -> Mono.just(rule.id());
+      case IP -> Mono.just(ipKey(exchange, rule));
+      case USER ->
+          exchange
+              .getPrincipal()
+              .map(Principal::getName)
+              .map(user -> rule.id() + "|user:" + user)
+              .switchIfEmpty(Mono.fromSupplier(() -> ipKey(exchange, rule)));
+    };
+  }
+
+  private String ipKey(ServerWebExchange exchange, Rule rule) {
+    return rule.id() + "|ip:" + clientIp(exchange.getRequest());
+  }
+
+  /**
+   * Returns the client address buckets are kept per: the {@code X-Forwarded-For} entry appended by
+   * the outermost of {@code trusted-proxies} proxies, else the remote address. Entries further left
+   * are supplied by the client and never used, so they cannot be rotated to dodge a limit.
+   */
+  private String clientIp(ServerHttpRequest request) {
+    if (trustedProxies > 0) {
+      List<String> hops = request.getHeaders().getValuesAsList(X_FORWARDED_FOR);
+      if (hops.size() >= trustedProxies) return hops.get(hops.size() - trustedProxies);
+    }
+    InetSocketAddress remoteAddress = request.getRemoteAddress();
+    return remoteAddress != null && remoteAddress.getAddress() != null
+        ? remoteAddress.getAddress().getHostAddress()
+        : "unknown-ip";
+  }
+
+  private Mono<RateLimitDecision> acquire(String key, Rule rule) {
+    if (store == null || System.nanoTime() - fallbackUntil < 0) {
+      return Mono.just(local.tryAcquire(key, rule.capacity(), rule.period()));
+    }
+    return Mono.fromFuture(() -> store.tryAcquire(key, rule.capacity(), rule.period()))
+        .timeout(storeTimeout)
+        .onErrorResume(
+            e -> {
+              fallbackUntil = System.nanoTime() + fallbackPeriod.toNanos();
+              log.warn(
+                  "Rate limit store unavailable, using local buckets for {}: error={}",
+                  fallbackPeriod,
+                  e.toString());
+              return Mono.empty();
+            })
+        .switchIfEmpty(
+            Mono.fromSupplier(() -> local.tryAcquire(key, rule.capacity(), rule.period())));
+  }
+
+  private Mono<Void> apply(
+      ServerWebExchange exchange,
+      WebFilterChain chain,
+      Rule rule,
+      String key,
+      RateLimitDecision decision) {
+    HttpHeaders headers = exchange.getResponse().getHeaders();
+    headers.set(LIMIT_HEADER, Long.toString(rule.capacity()));
+    headers.set(REMAINING_HEADER, Long.toString(decision.remaining()));
+    if (decision.allowed()) return chain.filter(exchange);
+
+    long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+    headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    log.debug("Rate limit exceeded: key={}, retryAfter={}s", key, retryAfterSeconds);
+    return ZeabayResponses.writeError(exchange, ErrorCode.RATE_LIMIT_EXCEEDED, objectMapper);
+  }
+
+  private record Rule(
+      String id,
+      PathPattern pattern,
+      HttpMethod method,
+      RateLimitKey key,
+      long capacity,
+      Duration period) {
+
+    static Rule of(ZeabaySecurityProperties.Rule rule) {
+      if (rule.getPath() == null || rule.getCapacity() <= 0 || !rule.getPeriod().isPositive()) {
+        throw new IllegalArgumentException(
+            "Rate limit rules need a path, a positive capacity and a positive period: " + rule);
+      }
+      HttpMethod method =
+          rule.getMethod() != null
+              ? HttpMethod.valueOf(rule.getMethod().toUpperCase(Locale.ROOT))
+              : null;
+      String id = method != null ? method.name() + ' ' + rule.getPath() : rule.getPath();
+      return new Rule(
+          id,
+          PathPatternParser.defaultInstance.parse(rule.getPath()),
+          method,
+          rule.getKey(),
+          rule.getCapacity(),
+          rule.getPeriod());
+    }
+  }
+}
@@ -17,8 +17,9 @@ public record ZeabayApiResponse<T>(
     return new ZeabayApiResponse<>(true, data, null, traceId, Instant.now());
   }
 
-  /** Creates a failed response wrapping the given error. */
+  /** Creates a failed response wrapping the given error, sharing its timestamp. */
   public static <T> ZeabayApiResponse<T> fail(ErrorResponse error, String traceId) {
-    return new ZeabayApiResponse<>(false, null, error, traceId, Instant.now());
+    Instant timestamp = error.timestamp() != null ? error.timestamp() : Instant.now();
+    return new ZeabayApiResponse<>(false, null, error, traceId, timestamp);
   }
 }
@@ -0,0 +1,54 @@
+package com.zeabay.common.api.model;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One element of a streamed response (NDJSON line or SSE event), the streaming counterpart of
+ * {@link ZeabayApiResponse}.
+ *
+ * <p>A stream is a {@link Type#HEADER} frame carrying the trace ID, any number of {@link
+ * Type#DATA} frames, and a final {@link Type#TRAILER} frame with the outcome: {@code success} and
+ * the number of data frames, or the {@link ErrorResponse} that ended the stream early.
+ *
+ * @param <T> the type of the streamed items
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ZeabayStreamFrame<T>(
+    Type type,
+    T data,
+    Boolean success,
+    Long count,
+    ErrorResponse error,
+    String traceId,
+    Instant timestamp) {
+
+  /** Frame kinds, in stream order. */
+  public enum Type {
+    HEADER,
+    DATA,
+    TRAILER
+  }
+
+  /** Creates the opening frame. */
+  public static <T> ZeabayStreamFrame<T> header(String traceId) {
+    return new ZeabayStreamFrame<>(Type.HEADER, null, null, null, null, traceId, Instant.now());
+  }
+
+  /** Creates a frame carrying one item. */
+  public static <T> ZeabayStreamFrame<T> data(T data) {
+    return new ZeabayStreamFrame<>(Type.DATA, data, null, null, null, null, null);
+  }
+
+  /** Creates the closing frame of a stream that completed normally. */
+  public static <T> ZeabayStreamFrame<T> completed(String traceId, long count) {
+    return new ZeabayStreamFrame<>(Type.TRAILER, null, true, count, null, traceId, Instant.now());
+  }
+
+  /** Creates the closing frame of a stream that failed after {@code count} items. */
+  public static <T> ZeabayStreamFrame<T> failed(String traceId, long count, ErrorResponse error) {
+    return new ZeabayStreamFrame<>(
+        Type.TRAILER, null, false, count, error, traceId, error.timestamp());
+  }
+}
@@ -0,0 +1,63 @@
+package com.zeabay.common.autoconfigure;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.zeabay.common.web.ZeabayWebFluxProperties;
+import com.zeabay.common.web.limit.AdaptiveConcurrencyLimiter;
+import com.zeabay.common.web.limit.ConcurrencyLimiterMetrics;
+import com.zeabay.common.web.limit.ZeabayConcurrencyLimitWebFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Autoconfigures adaptive concurrency limiting and load shedding for WebFlux applications.
+ *
+ * <p>Enabled with {@code zeabay.webflux.concurrency-limit.enabled=true}. Limiter metrics are
+ * published when Micrometer is on the classpath.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = REACTIVE)
+@ConditionalOnProperty(name = "zeabay.webflux.concurrency-limit.enabled", havingValue = "true")
+@EnableConfigurationProperties(ZeabayWebFluxProperties.class)
+public class ZeabayConcurrencyLimitAutoConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public AdaptiveConcurrencyLimiter zeabayConcurrencyLimiter(ZeabayWebFluxProperties props) {
+    return new AdaptiveConcurrencyLimiter(props.getConcurrencyLimit());
+  }
+
+  @Bean
+  @Order(ZeabayConcurrencyLimitWebFilter.ORDER)
+  @ConditionalOnMissingBean
+  public ZeabayConcurrencyLimitWebFilter zeabayConcurrencyLimitWebFilter(
+      AdaptiveConcurrencyLimiter limiter,
+      ZeabayWebFluxProperties props,
+      ObjectMapper objectMapper) {
+    return new ZeabayConcurrencyLimitWebFilter(limiter, props.getConcurrencyLimit(), objectMapper);
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(MeterRegistry.class)
+  static class ZeabayConcurrencyLimitMetricsConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ConcurrencyLimiterMetrics zeabayConcurrencyLimiterMetrics(
+        AdaptiveConcurrencyLimiter limiter) {
+      return new ConcurrencyLimiterMetrics(limiter);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.zeabay.common.autoconfigure;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+
+import com.zeabay.common.cache.ResponseCacheStore;
+import com.zeabay.common.web.ZeabayWebFluxProperties;
+import com.zeabay.common.web.cache.ZeabayCacheable;
+import com.zeabay.common.web.cache.ZeabayResponseCacheWebFilter;
+
+/**
+ * Autoconfigures the {@link ZeabayCacheable} response cache when a {@link ResponseCacheStore} is
+ * available (e.g. from {@code zeabay-redis}).
+ *
+ * <p>Can be disabled by setting {@code zeabay.webflux.response-cache.enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = REACTIVE)
+@ConditionalOnProperty(
+    name = "zeabay.webflux.response-cache.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@EnableConfigurationProperties(ZeabayWebFluxProperties.class)
+@AutoConfigureAfter(name = "com.zeabay.common.autoconfigure.ZeabayRedisAutoConfiguration")
+public class ZeabayResponseCacheAutoConfiguration {
+
+  @Bean
+  @Order(ZeabayResponseCacheWebFilter.ORDER)
+  @ConditionalOnBean(ResponseCacheStore.class)
+  @ConditionalOnMissingBean
+  public ZeabayResponseCacheWebFilter zeabayResponseCacheWebFilter(
+      @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+      ResponseCacheStore store,
+      ZeabayWebFluxProperties props) {
+    return new ZeabayResponseCacheWebFilter(
+        handlerMapping, store, props.getResponseCache().getLockTimeout());
+  }
+}
@@ -2,33 +2,52 @@ package com.zeabay.common.autoconfigure;
 
 import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.reactivestreams.Subscription;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.zeabay.common.api.exception.BusinessException;
+import com.zeabay.common.api.exception.ErrorCode;
 import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.context.Deadline;
+import com.zeabay.common.context.RequestMetadata;
+import com.zeabay.common.trace.TraceContextCodec;
+import com.zeabay.common.web.ZeabayWebFluxProperties;
+import com.zeabay.common.web.ZeabayWebFluxProperties.ContextPropagation;
+import com.zeabay.common.web.context.RequestMetadataAccessor;
+import com.zeabay.common.web.deadline.RequestDeadlines;
 import com.zeabay.common.web.filter.ZeabayRequestContextWebFilter;
 
+import io.micrometer.context.ContextRegistry;
+import lombok.extern.slf4j.Slf4j;
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Operators;
 import reactor.util.context.Context;
+import reactor.util.context.ContextView;
 
 /**
  * Autoconfigures distributed trace ID propagation for WebFlux applications.
@@ -38,25 +57,49 @@ import reactor.util.context.Context;
  * <ul>
  *   <li>Extracts or generates a trace ID from incoming HTTP requests (W3C traceparent / X-Trace-Id)
  *   <li>Stores the trace ID in the Reactor context and response headers
- *   <li>Bridges Reactor context to SLF4J MDC via a Reactor hook
+ *   <li>Bridges Reactor context to SLF4J MDC, per operator via a Reactor hook ({@code
+ *       zeabay.webflux.context-propagation=hook}, the default) or at thread boundaries only via
+ *       Reactor's automatic context propagation ({@code automatic}, which falls back to the hook
+ *       with a warning when {@code io.micrometer:context-propagation} is missing)
  *   <li>Propagates the trace ID to outgoing WebClient requests
+ *   <li>Enforces request deadlines ({@code zeabay.webflux.deadline}) and caps outgoing WebClient
+ *       requests at the remaining budget, forwarding it in {@code X-Request-Timeout-Ms} to
+ *       configured hosts
  * </ul>
  */
+@Slf4j
 @AutoConfiguration
+@EnableConfigurationProperties(ZeabayWebFluxProperties.class)
 public class ZeabayTraceIdAutoConfiguration {
 
-  private static final Pattern TRACEPARENT =
-      Pattern.compile("^[\\da-fA-F]{2}-([\\da-fA-F]{32})-[\\da-fA-F]{16}-[\\da-fA-F]{2}$");
-
   private static final String HOOK_KEY = "zeabay-traceid-mdc-hook";
+  private static final String PROPAGATION_PROPERTY = "zeabay.webflux.context-propagation";
+  private static final String CONTEXT_REGISTRY = "io.micrometer.context.ContextRegistry";
+
+  /** Automatic mode needs io.micrometer:context-propagation; without it the hook is used. */
+  private static boolean automatic(ZeabayWebFluxProperties properties) {
+    return properties.getContextPropagation() == ContextPropagation.AUTOMATIC
+        && ClassUtils.isPresent(
+            CONTEXT_REGISTRY, ZeabayTraceIdAutoConfiguration.class.getClassLoader());
+  }
+
+  private static HookReleaser installMdcHook() {
+    Hooks.onEachOperator(HOOK_KEY, Operators.lift((_, sub) -> new MdcLifter<>(sub)));
+    return () -> Hooks.resetOnEachOperator(HOOK_KEY);
+  }
+
+  private static String traceId(ContextView ctx) {
+    String traceId = ctx.getOrDefault(ZeabayConstants.TRACE_ID_CTX_KEY, null);
+    if (traceId != null) return traceId;
+    RequestMetadata metadata = ctx.getOrDefault(RequestMetadata.CTX_KEY, null);
+    return metadata != null ? metadata.traceId() : null;
+  }
 
   private static String resolveTraceId(ServerWebExchange exchange) {
-    String traceparent = exchange.getRequest().getHeaders().getFirst("traceparent");
-    if (traceparent != null) {
-      Matcher m = TRACEPARENT.matcher(traceparent.trim());
-      if (m.matches()) {
-        return m.group(1).toLowerCase();
-      }
+    String traceId =
+        TraceContextCodec.parseTraceId(exchange.getRequest().getHeaders().getFirst("traceparent"));
+    if (traceId != null) {
+      return traceId;
     }
 
     String xTraceId = exchange.getRequest().getHeaders().getFirst(ZeabayConstants.TRACE_ID_HEADER);
@@ -64,57 +107,90 @@ public class ZeabayTraceIdAutoConfiguration {
       return sanitize(xTraceId);
     }
 
-    return UUID.randomUUID().toString().replace("-", "");
+    return TraceContextCodec.newTraceId();
   }
 
+  /** Keeps at most 64 of the characters {@code [a-zA-Z0-9_-]}; generates an ID if none remain. */
   private static String sanitize(String raw) {
-    String v = raw.trim();
-
-    v = v.replace("\r", "").replace("\n", "");
-    v = v.replaceAll("[^a-zA-Z0-9_-]", "");
-
-    if (v.length() > 64) {
-      v = v.substring(0, 64);
+    StringBuilder v = null;
+    int kept = 0;
+    for (int i = 0; i < raw.length() && kept < 64; i++) {
+      char c = raw.charAt(i);
+      boolean allowed =
+          (c >= 'a' && c <= 'z')
+              || (c >= 'A' && c <= 'Z')
+              || (c >= '0' && c <= '9')
+              || c == '_'
+              || c == '-';
+      if (allowed) {
+        if (v != null) v.append(c);
+        kept++;
+      } else if (v == null) {
+        v = new StringBuilder(64).append(raw, 0, i);
+      }
     }
 
-    if (v.isBlank()) {
-      return UUID.randomUUID().toString().replace("-", "");
+    if (kept == 0) {
+      return TraceContextCodec.newTraceId();
     }
-    return v;
+    if (v == null) {
+      return kept == raw.length() ? raw : raw.substring(0, kept);
+    }
+    return v.toString();
   }
 
   /**
    * WebFilter that extracts or generates a trace ID and writes it to the Reactor context and
-   * response header.
+   * response header. In automatic mode the context entry is left to the request metadata filter,
+   * which picks the trace ID up from the exchange attributes.
    */
   @Bean
   @Order(Ordered.HIGHEST_PRECEDENCE)
   @ConditionalOnWebApplication(type = REACTIVE)
-  public WebFilter traceIdWebFilter() {
+  public WebFilter traceIdWebFilter(ZeabayWebFluxProperties properties) {
+    boolean automatic = automatic(properties);
     return (exchange, chain) -> {
       String traceId = resolveTraceId(exchange);
       exchange.getResponse().getHeaders().set(ZeabayConstants.TRACE_ID_HEADER, traceId);
       exchange.getAttributes().put(ZeabayConstants.TRACE_ID_CTX_KEY, traceId);
 
+      if (automatic) return chain.filter(exchange);
       return chain
           .filter(exchange)
           .contextWrite(ctx -> ctx.put(ZeabayConstants.TRACE_ID_CTX_KEY, traceId));
     };
   }
 
-  /** Registers the request metadata filter that populates IP, method, and path in the context. */
+  /**
+   * Registers the request metadata filter that populates IP, method, path and deadline in the
+   * context.
+   */
   @Bean
   @Order(Ordered.HIGHEST_PRECEDENCE + 1)
   @ConditionalOnWebApplication(type = REACTIVE)
-  public WebFilter zeabayRequestContextWebFilter() {
-    return new ZeabayRequestContextWebFilter();
+  public WebFilter zeabayRequestContextWebFilter(
+      ZeabayWebFluxProperties properties, ObjectProvider<RequestDeadlines> deadlines) {
+    return new ZeabayRequestContextWebFilter(automatic(properties), deadlines.getIfAvailable());
+  }
+
+  /** Resolves request deadlines from the caller's budget header and per-route timeouts. */
+  @Bean
+  @ConditionalOnWebApplication(type = REACTIVE)
+  @ConditionalOnProperty(
+      name = "zeabay.webflux.deadline.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  @ConditionalOnMissingBean
+  public RequestDeadlines zeabayRequestDeadlines(
+      ZeabayWebFluxProperties properties, ObjectMapper objectMapper) {
+    return new RequestDeadlines(properties.getDeadline(), objectMapper);
   }
 
   /** Installs a Reactor hook that copies context keys (trace ID, IP, etc.) into SLF4J MDC. */
   @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = PROPAGATION_PROPERTY, havingValue = "hook", matchIfMissing = true)
   public HookReleaser reactorMdcTraceIdHook() {
-    Hooks.onEachOperator(HOOK_KEY, Operators.lift((_, sub) -> new MdcLifter<>(sub)));
-    return () -> Hooks.resetOnEachOperator(HOOK_KEY);
+    return installMdcHook();
   }
 
   /** Releases the Reactor hook on application shutdown to prevent leaks. */
@@ -131,7 +207,7 @@ public class ZeabayTraceIdAutoConfiguration {
     return (request, next) ->
         Mono.deferContextual(
             ctxView -> {
-              String traceId = ctxView.getOrDefault(ZeabayConstants.TRACE_ID_CTX_KEY, null);
+              String traceId = traceId(ctxView);
               if (traceId == null) return next.exchange(request);
 
               if (request.headers().getFirst(ZeabayConstants.TRACE_ID_HEADER) != null) {
@@ -145,6 +221,98 @@ public class ZeabayTraceIdAutoConfiguration {
             });
   }
 
+  /**
+   * Fails outgoing WebClient requests fast once the current request's deadline has passed, and
+   * times them out when it does. The remaining budget is forwarded only to {@code
+   * zeabay.webflux.deadline.propagate-hosts}, unless the request already sets one.
+   */
+  @Bean
+  @ConditionalOnClass(ExchangeFilterFunction.class)
+  @ConditionalOnMissingBean(name = "zeabayDeadlineWebClientFilter")
+  public ExchangeFilterFunction zeabayDeadlineWebClientFilter(ZeabayWebFluxProperties properties) {
+    List<String> propagateHosts = properties.getDeadline().getPropagateHosts();
+    return (request, next) ->
+        Mono.deferContextual(
+            ctxView -> {
+              Deadline deadline = ctxView.getOrDefault(Deadline.CTX_KEY, null);
+              if (deadline == null) return next.exchange(request);
+
+              Duration remaining = deadline.remaining();
+              if (remaining.isZero()) {
+                return Mono.error(deadlineExceeded(request));
+              }
+              ClientRequest withBudget =
+                  request.headers().getFirst(ZeabayConstants.DEADLINE_HEADER) != null
+                          || !matchesHost(propagateHosts, request.url().getHost())
+                      ? request
+                      : ClientRequest.from(request)
+                          .header(
+                              ZeabayConstants.DEADLINE_HEADER, Long.toString(remaining.toMillis()))
+                          .build();
+              return next.exchange(withBudget)
+                  .timeout(remaining, Mono.error(() -> deadlineExceeded(request)));
+            });
+  }
+
+  /** Whether {@code host} equals one of {@code patterns} or is a subdomain of a {@code *.} one. */
+  private static boolean matchesHost(List<String> patterns, String host) {
+    if (host == null) return false;
+    for (String pattern : patterns) {
+      boolean matches =
+          pattern.startsWith("*.")
+              ? host.regionMatches(
+                  true, host.length() - (pattern.length() - 1), pattern, 1, pattern.length() - 1)
+              : host.equalsIgnoreCase(pattern);
+      if (matches) return true;
+    }
+    return false;
+  }
+
+  private static BusinessException deadlineExceeded(ClientRequest request) {
+    return new BusinessException(
+        ErrorCode.GATEWAY_TIMEOUT,
+        "Request deadline exceeded calling " + request.method() + " " + request.url());
+  }
+
+  /**
+   * Registers {@link RequestMetadataAccessor} and turns on Reactor's automatic context propagation,
+   * so MDC is only restored where a signal changes thread. Both are undone on shutdown.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(ContextRegistry.class)
+  @ConditionalOnProperty(name = PROPAGATION_PROPERTY, havingValue = "automatic")
+  static class AutomaticContextPropagationConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public HookReleaser reactorAutomaticContextPropagation() {
+      ContextRegistry.getInstance().registerThreadLocalAccessor(new RequestMetadataAccessor());
+      Hooks.enableAutomaticContextPropagation();
+      return () -> {
+        Hooks.disableAutomaticContextPropagation();
+        ContextRegistry.getInstance().removeThreadLocalAccessor(RequestMetadata.CTX_KEY);
+      };
+    }
+  }
+
+  /**
+   * Falls back to the MDC hook when automatic mode is configured but {@code
+   * io.micrometer:context-propagation} is not on the classpath, so MDC is not silently left empty.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnMissingClass(CONTEXT_REGISTRY)
+  @ConditionalOnProperty(name = PROPAGATION_PROPERTY, havingValue = "automatic")
+  static class HookFallbackConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public HookReleaser reactorMdcTraceIdHookFallback() {
+      log.warn(
+          "{}=automatic requires io.micrometer:context-propagation on the classpath;"
+              + " falling back to the MDC hook",
+          PROPAGATION_PROPERTY);
+      return installMdcHook();
+    }
+  }
+
   private record MdcLifter<T>(CoreSubscriber<? super T> delegate) implements CoreSubscriber<T> {
 
     private static final String[] MDC_KEYS = {
@@ -5,31 +5,89 @@ import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.zeabay.common.web.ZeabayWebFluxProperties;
+import com.zeabay.common.web.client.HedgingExchangeFilterFunction;
+import com.zeabay.common.web.client.ReactorNettyConnectorFactory;
+import com.zeabay.common.web.client.WebClientHedgingMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
- * Autoconfigures a shared {@link WebClient} bean with trace ID propagation.
+ * Autoconfigures a shared {@link WebClient} bean with trace ID and deadline propagation.
  *
- * <p>If a {@code zeabayTraceIdWebClientFilter} filter is available, it is wired into the WebClient
- * builder automatically.
+ * <p>All {@link ExchangeFilterFunction} beans (e.g. {@code zeabayTraceIdWebClientFilter} and
+ * {@code zeabayDeadlineWebClientFilter}) are wired into the WebClient builder in their {@code
+ * Order}. With Reactor Netty, the client uses a connection pool sized by {@code
+ * zeabay.webflux.web-client.pool}; {@code zeabay.webflux.web-client.hedging.enabled=true} adds
+ * hedged GET requests.
  */
 @AutoConfiguration
 @ConditionalOnClass(WebClient.class)
 @AutoConfigureAfter(
     name =
         "org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration")
+@EnableConfigurationProperties(ZeabayWebFluxProperties.class)
 public class ZeabayWebClientAutoConfiguration {
 
+  private static final String HEDGING_PROPERTY = "zeabay.webflux.web-client.hedging.enabled";
+
   @Bean
   @ConditionalOnMissingBean(WebClient.class)
   public WebClient zeabayWebClient(
       ObjectProvider<WebClient.Builder> builderProvider,
-      ObjectProvider<ExchangeFilterFunction> traceIdFilterProvider) {
+      ObjectProvider<ExchangeFilterFunction> filters,
+      ObjectProvider<ReactorNettyConnectorFactory> connectorFactory,
+      ObjectProvider<HedgingExchangeFilterFunction> hedgingProvider) {
 
     WebClient.Builder builder = builderProvider.getIfAvailable(WebClient::builder);
-    ExchangeFilterFunction filter = traceIdFilterProvider.getIfAvailable();
-    return filter != null ? builder.filter(filter).build() : builder.build();
+    connectorFactory.ifAvailable(factory -> builder.clientConnector(factory.create()));
+
+    HedgingExchangeFilterFunction hedging = hedgingProvider.getIfAvailable();
+    filters.orderedStream().filter(filter -> filter != hedging).forEach(builder::filter);
+    if (hedging != null) {
+      builder.filter(hedging); // innermost: both attempts carry the other filters' headers
+    }
+    return builder.build();
+  }
+
+  /** Sends a second GET to slow hosts after their recent latency percentile. */
+  @Bean
+  @ConditionalOnProperty(name = HEDGING_PROPERTY, havingValue = "true")
+  @ConditionalOnMissingBean
+  public HedgingExchangeFilterFunction zeabayHedgingWebClientFilter(
+      ZeabayWebFluxProperties props) {
+    return new HedgingExchangeFilterFunction(props.getWebClient().getHedging());
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(name = "reactor.netty.http.client.HttpClient")
+  static class ReactorNettyConnectorConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactorNettyConnectorFactory zeabayReactorNettyConnectorFactory(
+        ZeabayWebFluxProperties props) {
+      return new ReactorNettyConnectorFactory(props.getWebClient());
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(MeterRegistry.class)
+  @ConditionalOnProperty(name = HEDGING_PROPERTY, havingValue = "true")
+  static class HedgingMetricsConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public WebClientHedgingMetrics zeabayWebClientHedgingMetrics(
+        HedgingExchangeFilterFunction hedging) {
+      return new WebClientHedgingMetrics(hedging);
+    }
   }
 }
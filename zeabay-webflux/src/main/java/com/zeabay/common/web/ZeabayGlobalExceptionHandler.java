@@ -42,18 +42,29 @@ public class ZeabayGlobalExceptionHandler {
         exchange, HttpStatus.BAD_REQUEST, ErrorCode.VALIDATION_ERROR, "error.validation", errors);
   }
 
-  /** Handles domain/business rule violations thrown as {@link BusinessException}. */
+  /**
+   * Handles domain/business rule violations thrown as {@link BusinessException}. Client errors
+   * (4xx) are expected outcomes and only logged at DEBUG, so floods of e.g. failed logins cost no
+   * more than successful requests; server-side codes are logged at WARN.
+   */
   @ExceptionHandler(BusinessException.class)
   public Mono<ResponseEntity<ZeabayApiResponse<Void>>> handleBusiness(
       BusinessException ex, ServerWebExchange exchange) {
-    log.warn(
-        "Business error: code={}, message={}, path={}",
-        ex.getErrorCode(),
-        ex.getMessage(),
-        exchange.getRequest().getURI());
-    HttpStatus status = HttpStatus.valueOf(ex.getErrorCode().getHttpStatus());
-    String messageKey = "error." + ex.getErrorCode().name().toLowerCase();
-    return ZeabayResponses.error(exchange, status, ex.getErrorCode(), messageKey);
+    ErrorCode code = ex.getErrorCode();
+    if (code.getHttpStatus() >= 500) {
+      log.warn(
+          "Business error: code={}, message={}, path={}",
+          code,
+          ex.getMessage(),
+          exchange.getRequest().getPath());
+    } else if (log.isDebugEnabled()) {
+      log.debug(
+          "Business error: code={}, message={}, path={}",
+          code,
+          ex.getMessage(),
+          exchange.getRequest().getPath());
+    }
+    return ZeabayResponses.error(exchange, code);
   }
 
   /** Handles Spring's built-in {@link ResponseStatusException} (e.g., 404 from routing). */
@@ -64,8 +75,8 @@ public class ZeabayGlobalExceptionHandler {
     HttpStatus status = HttpStatus.resolve(ex.getStatusCode().value());
     if (status == null) status = HttpStatus.INTERNAL_SERVER_ERROR;
 
-    String messageKey = "error." + status.name().toLowerCase();
-    return ZeabayResponses.error(exchange, status, status.name(), messageKey);
+    return ZeabayResponses.error(
+        exchange, status, status.name(), ZeabayResponses.messageKey(status));
   }
 
   /** Catch-all handler for any unhandled exception. Returns a generic 500 error. */
@@ -77,7 +88,7 @@ public class ZeabayGlobalExceptionHandler {
         exchange,
         HttpStatus.INTERNAL_SERVER_ERROR,
         ErrorCode.INTERNAL_ERROR,
-        "error.internal_error");
+        ErrorCode.INTERNAL_ERROR.getMessageKey());
   }
 
   private ValidationError toValidationError(FieldError fe) {
@@ -1,20 +1,34 @@
 package com.zeabay.common.web;
 
 import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.zeabay.common.api.exception.ErrorCode;
 import com.zeabay.common.api.model.ErrorResponse;
 import com.zeabay.common.api.model.ValidationError;
 import com.zeabay.common.api.model.ZeabayApiResponse;
 import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.context.RequestMetadata;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -25,17 +39,49 @@ import reactor.util.context.ContextView;
  * Factory methods for building standardized {@link ZeabayApiResponse} success and error responses.
  *
  * <p>Provides both service-level helpers (returning {@link Mono}) and exception-handler helpers
- * (returning {@link ResponseEntity}).
+ * (returning {@link ResponseEntity}), plus conditional GET helpers that answer {@code
+ * If-None-Match} with {@code 304 Not Modified}. For {@code Flux} endpoints that should not be
+ * buffered into one envelope, see {@link ZeabayStreams}.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ZeabayResponses {
   private static final String MISSING_VALUE = "missing";
 
+  private static final Map<ErrorCode, HttpStatus> ERROR_CODE_STATUSES =
+      new EnumMap<>(ErrorCode.class);
+  private static final Map<HttpStatus, String> STATUS_MESSAGE_KEYS =
+      new EnumMap<>(HttpStatus.class);
+
+  static {
+    for (ErrorCode code : ErrorCode.values()) {
+      ERROR_CODE_STATUSES.put(code, HttpStatus.valueOf(code.getHttpStatus()));
+    }
+    for (HttpStatus status : HttpStatus.values()) {
+      STATUS_MESSAGE_KEYS.put(status, "error." + status.name().toLowerCase(Locale.ROOT));
+    }
+  }
+
+  // -------- Status / message key lookups --------
+
+  /** Returns the {@link HttpStatus} of an error code, resolved once per code. */
+  public static HttpStatus status(ErrorCode code) {
+    return ERROR_CODE_STATUSES.get(code);
+  }
+
+  /** Returns the message key of a framework status ({@code error.<lowercase name>}). */
+  public static String messageKey(HttpStatus status) {
+    return STATUS_MESSAGE_KEYS.get(status);
+  }
+
   // -------- TraceId helpers --------
 
-  /** Retrieves the trace ID from the Reactor context. */
+  /** Retrieves the trace ID from the Reactor context (trace ID key or {@link RequestMetadata}). */
   public static String traceId(ContextView ctx) {
-    Object v = ctx.getOrDefault(ZeabayConstants.TRACE_ID_CTX_KEY, MISSING_VALUE);
+    Object v = ctx.getOrDefault(ZeabayConstants.TRACE_ID_CTX_KEY, null);
+    if (v == null) {
+      RequestMetadata metadata = ctx.getOrDefault(RequestMetadata.CTX_KEY, null);
+      v = metadata != null ? metadata.traceId() : null;
+    }
     return v != null ? v.toString() : MISSING_VALUE;
   }
 
@@ -65,6 +111,84 @@ public final class ZeabayResponses {
                 ResponseEntity.created(location).body(ZeabayApiResponse.ok(data, traceId(ctx)))));
   }
 
+  // -------- Conditional GET (ETag / If-None-Match) --------
+
+  /**
+   * Creates a 200 response with a strong ETag computed from the JSON of {@code data} (not the
+   * envelope, so {@code traceId}/{@code timestamp} do not change it), or a 304 without body if the
+   * request's {@code If-None-Match} already carries that ETag.
+   *
+   * <p>Hashing requires serializing {@code data} once more; when the entity has a version or {@code
+   * updatedAt}, prefer {@link #okIfModified}, which can skip loading the data altogether.
+   */
+  public static <T> Mono<ResponseEntity<ZeabayApiResponse<T>>> okWithETag(
+      ServerWebExchange exchange, T data, ObjectMapper objectMapper) {
+    return Mono.deferContextual(
+        ctx -> {
+          String etag;
+          try {
+            etag = strongETag(objectMapper.writeValueAsBytes(data));
+          } catch (JsonProcessingException e) {
+            return Mono.error(e);
+          }
+          if (exchange.checkNotModified(etag)) {
+            return Mono.just(notModified(etag));
+          }
+          return Mono.just(
+              ResponseEntity.ok().eTag(etag).body(ZeabayApiResponse.ok(data, traceId(ctx))));
+        });
+  }
+
+  /**
+   * Creates a 200 response with a weak ETag derived from {@code version} (an entity version
+   * number, an {@code updatedAt} instant or any value that changes with the resource), or a 304
+   * without body if the request's {@code If-None-Match} matches. In the latter case {@code data} is
+   * never subscribed.
+   */
+  public static <T> Mono<ResponseEntity<ZeabayApiResponse<T>>> okIfModified(
+      ServerWebExchange exchange, Object version, Supplier<? extends Mono<T>> data) {
+    String etag = weakETag(version);
+    if (exchange.checkNotModified(etag)) {
+      return Mono.just(notModified(etag));
+    }
+    return Mono.deferContextual(
+        ctx ->
+            data.get()
+                .map(
+                    d ->
+                        ResponseEntity.ok()
+                            .eTag(etag)
+                            .body(ZeabayApiResponse.ok(d, traceId(ctx)))));
+  }
+
+  /** Returns a quoted strong ETag: the URL-safe Base64 of the first 128 bits of SHA-256. */
+  public static String strongETag(byte[] content) {
+    byte[] digest = sha256().digest(content);
+    String hash = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+    return '"' + hash + '"';
+  }
+
+  /** Returns a weak ETag for a version value; {@link Instant}s use their epoch milliseconds. */
+  public static String weakETag(Object version) {
+    String value =
+        version instanceof Instant instant
+            ? Long.toString(instant.toEpochMilli())
+            : String.valueOf(version);
+    return "W/\"" + value.replace("\"", "") + '"';
+  }
+
+  private static <T> ResponseEntity<T> notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
   // -------- Fail (typed, so it fits any endpoint return type) --------
 
   /**
@@ -118,6 +242,12 @@ public final class ZeabayResponses {
     return error(exchange, status, code, messageKey, List.of());
   }
 
+  /** Creates the error response of an {@link ErrorCode} with its own status and message key. */
+  public static Mono<ResponseEntity<ZeabayApiResponse<Void>>> error(
+      ServerWebExchange exchange, ErrorCode code) {
+    return error(exchange, status(code), code, code.getMessageKey(), List.of());
+  }
+
   // -------- Fail for framework exceptions (no ErrorCode) --------
 
   /**
@@ -134,4 +264,28 @@ public final class ZeabayResponses {
     ErrorResponse err = new ErrorResponse(code, messageKey, path, now, List.of());
     return Mono.just(ResponseEntity.status(status).body(ZeabayApiResponse.fail(err, tid)));
   }
+
+  // -------- Fail for WebFilters (written directly to the response) --------
+
+  /**
+   * Writes the error response of an {@link ErrorCode} straight to the exchange, for {@code
+   * WebFilter}s that reject a request before it reaches a handler (and so the exception handler).
+   */
+  public static Mono<Void> writeError(
+      ServerWebExchange exchange, ErrorCode code, ObjectMapper objectMapper) {
+    String path = exchange.getRequest().getPath().value();
+    ErrorResponse err =
+        new ErrorResponse(code.name(), code.getMessageKey(), path, Instant.now(), List.of());
+    byte[] body;
+    try {
+      body = objectMapper.writeValueAsBytes(ZeabayApiResponse.fail(err, traceId(exchange)));
+    } catch (JsonProcessingException e) {
+      return Mono.error(e);
+    }
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(status(code));
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    response.getHeaders().setContentLength(body.length);
+    return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+  }
 }
@@ -0,0 +1,101 @@
+package com.zeabay.common.web;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.zeabay.common.api.exception.BusinessException;
+import com.zeabay.common.api.exception.ErrorCode;
+import com.zeabay.common.api.model.ErrorResponse;
+import com.zeabay.common.api.model.ZeabayStreamFrame;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streaming counterparts of {@link ZeabayResponses} for {@link Flux} endpoints: items are written
+ * as they arrive, framed by a header and a trailer (see {@link ZeabayStreamFrame}), instead of
+ * being collected into one {@code ZeabayApiResponse}.
+ *
+ * <p>Frames map one-to-one onto items, so demand from the client socket reaches the source {@link
+ * Flux} (e.g. an R2DBC query) unchanged and at most a few rows are buffered. Errors after the
+ * first byte cannot change the HTTP status anymore; they end the stream with a failed trailer.
+ *
+ * <pre>
+ * &#64;GetMapping("/orders/export")
+ * public ResponseEntity&lt;Flux&lt;ZeabayStreamFrame&lt;Order&gt;&gt;&gt; export(
+ *     ServerWebExchange exchange) {
+ *   return ZeabayStreams.ndjson(exchange, orderRepository.findAll());
+ * }
+ * </pre>
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ZeabayStreams {
+
+  /** Wraps {@code items} in header, data and trailer frames. */
+  public static <T> Flux<ZeabayStreamFrame<T>> frames(ServerWebExchange exchange, Flux<T> items) {
+    String traceId = ZeabayResponses.traceId(exchange);
+    String path = exchange.getRequest().getPath().value();
+    return Flux.defer(
+        () -> {
+          AtomicLong count = new AtomicLong();
+          return Flux.just(ZeabayStreamFrame.<T>header(traceId))
+              .concatWith(
+                  items.map(
+                      item -> {
+                        count.incrementAndGet();
+                        return ZeabayStreamFrame.data(item);
+                      }))
+              .concatWith(
+                  Mono.fromSupplier(() -> ZeabayStreamFrame.completed(traceId, count.get())))
+              .onErrorResume(
+                  e -> Mono.just(ZeabayStreamFrame.failed(traceId, count.get(), toError(e, path))));
+        });
+  }
+
+  /** Streams {@code items} as NDJSON ({@code application/x-ndjson}), one frame per line. */
+  public static <T> ResponseEntity<Flux<ZeabayStreamFrame<T>>> ndjson(
+      ServerWebExchange exchange, Flux<T> items) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(frames(exchange, items));
+  }
+
+  /**
+   * Streams {@code items} as server-sent events, one frame per event named after its type ({@code
+   * header}, {@code data}, {@code trailer}).
+   */
+  public static <T> ResponseEntity<Flux<ServerSentEvent<ZeabayStreamFrame<T>>>> sse(
+      ServerWebExchange exchange, Flux<T> items) {
+    Flux<ServerSentEvent<ZeabayStreamFrame<T>>> events =
+        frames(exchange, items)
+            .map(
+                frame ->
+                    ServerSentEvent.builder(frame)
+                        .event(frame.type().name().toLowerCase(Locale.ROOT))
+                        .build());
+    return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(events);
+  }
+
+  private static ErrorResponse toError(Throwable e, String path) {
+    ErrorCode code;
+    if (e instanceof BusinessException be) {
+      code = be.getErrorCode();
+      log.warn("Stream ended by business error: code={}, path={}", code, path);
+    } else {
+      code = ErrorCode.INTERNAL_ERROR;
+      log.error("Stream failed: path={}", path, e);
+    }
+    return new ErrorResponse(code.name(), code.getMessageKey(), path, Instant.now(), List.of());
+  }
+}
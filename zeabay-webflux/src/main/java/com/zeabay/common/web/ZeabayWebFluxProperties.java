@@ -0,0 +1,210 @@
+package com.zeabay.common.web;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.zeabay.common.web.limit.RequestPriority;
+
+import lombok.Data;
+
+/**
+ * WebFlux request context settings (prefix: {@code zeabay.webflux}).
+ *
+ * <pre>
+ * zeabay:
+ *   webflux:
+ *     context-propagation: automatic   # requires io.micrometer:context-propagation
+ *     response-cache:
+ *       lock-timeout: 5s
+ *     concurrency-limit:
+ *       enabled: true
+ *       max-limit: 400
+ *       priorities:
+ *         - path: /api/v1/reports/**
+ *           priority: low
+ *     deadline:
+ *       default-timeout: 10s
+ *       propagate-hosts: ["*.svc.cluster.local"]
+ *       routes:
+ *         - path: /api/v1/search/**
+ *           timeout: 2s
+ *     web-client:
+ *       protocols: [h2c, http11]
+ *       pool:
+ *         max-connections: 200
+ *       hedging:
+ *         enabled: true
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "zeabay.webflux")
+public class ZeabayWebFluxProperties {
+
+  /** How request metadata reaches the SLF4J MDC. */
+  private ContextPropagation contextPropagation = ContextPropagation.HOOK;
+
+  private ResponseCache responseCache = new ResponseCache();
+
+  private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+  private Deadlines deadline = new Deadlines();
+
+  private Client webClient = new Client();
+
+  /** {@code @ZeabayCacheable} response cache; active when a {@code ResponseCacheStore} exists. */
+  @Data
+  public static class ResponseCache {
+    private boolean enabled = true;
+
+    /** Time after which a refresh lock of a request that never completed is released. */
+    private Duration lockTimeout = Duration.ofSeconds(10);
+  }
+
+  /** Adaptive concurrency limit and load shedding; see {@code AdaptiveConcurrencyLimiter}. */
+  @Data
+  public static class ConcurrencyLimit {
+    private boolean enabled = false;
+
+    private int initialLimit = 20;
+    private int minLimit = 20;
+    private int maxLimit = 200;
+
+    /** Weight of each new limit estimate, between 0 and 1. */
+    private double smoothing = 0.2;
+
+    /** Latency increase over the long-term average tolerated before the limit shrinks. */
+    private double rttTolerance = 1.5;
+
+    /** Sampling window; the limit is updated at most once per window. */
+    private Duration window = Duration.ofSeconds(1);
+
+    /** Completed requests needed before a window updates the limit. */
+    private int minWindowSamples = 10;
+
+    /** Windows averaged into the long-term latency. */
+    private int longWindow = 60;
+
+    /** Paths neither limited nor sampled. */
+    private List<String> excludePaths = new ArrayList<>(List.of("/actuator/**"));
+
+    /** Route priorities, first match wins; unmatched routes are {@code NORMAL}. */
+    private List<Route> priorities = new ArrayList<>();
+
+    @Data
+    public static class Route {
+      private String path;
+      private RequestPriority priority = RequestPriority.NORMAL;
+    }
+  }
+
+  /** Request deadlines; see {@code RequestDeadlines}. */
+  @Data
+  public static class Deadlines {
+    private boolean enabled = true;
+
+    /** Budget of requests matching no route; requests without any budget get no deadline. */
+    private Duration defaultTimeout;
+
+    /** Upper bound for budgets received from callers in {@code X-Request-Timeout-Ms}. */
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    /** Per-route budgets, first match wins. */
+    private List<RouteTimeout> routes = new ArrayList<>();
+
+    /**
+     * Hosts that receive the remaining budget in {@code X-Request-Timeout-Ms}: exact names, or
+     * {@code *.suffix} for subdomains. Empty by default, so the header never reaches third parties;
+     * outgoing calls are capped at the budget either way.
+     */
+    private List<String> propagateHosts = new ArrayList<>();
+
+    @Data
+    public static class RouteTimeout {
+      private String path;
+      private Duration timeout;
+    }
+  }
+
+  /** Shared {@code zeabayWebClient}; see {@code ReactorNettyConnectorFactory}. */
+  @Data
+  public static class Client {
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * HTTP versions offered: {@code h2} negotiates HTTP/2 over TLS, {@code h2c} speaks cleartext
+     * HTTP/2 (internal services); list {@code http11} too to fall back to HTTP/1.1.
+     */
+    private List<Protocol> protocols = new ArrayList<>(List.of(Protocol.HTTP11));
+
+    /** Publish Reactor Netty pool and connection metrics, if Micrometer is present. */
+    private boolean metrics = true;
+
+    private Pool pool = new Pool();
+
+    private Hedging hedging = new Hedging();
+
+    @Data
+    public static class Pool {
+      private int maxConnections = 500;
+
+      /** Requests allowed to wait for a connection; -1 for no limit. */
+      private int pendingAcquireMaxCount = 1000;
+
+      private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+      /** Closes connections idle this long, before servers or load balancers drop them. */
+      private Duration maxIdleTime = Duration.ofSeconds(30);
+
+      /** Closes connections this old, so new replicas receive traffic. */
+      private Duration maxLifeTime = Duration.ofMinutes(5);
+
+      /** Interval of the background eviction of idle and expired connections. */
+      private Duration evictInBackground = Duration.ofSeconds(30);
+    }
+
+    /** Hedged GET requests; see {@code HedgingExchangeFilterFunction}. */
+    @Data
+    public static class Hedging {
+      private boolean enabled = false;
+
+      /** Latency percentile of a host after which a GET is sent a second time. */
+      private double percentile = 0.95;
+
+      private Duration minDelay = Duration.ofMillis(5);
+      private Duration maxDelay = Duration.ofSeconds(1);
+
+      /** Upper bound of hedged requests as a share of all GETs. */
+      private double maxHedgeRatio = 0.1;
+
+      /** Latencies kept per host. */
+      private int window = 1000;
+
+      /** Latencies needed from a host before its requests are hedged. */
+      private int minSamples = 100;
+    }
+
+    public enum Protocol {
+      HTTP11,
+      H2,
+      H2C
+    }
+  }
+
+  public enum ContextPropagation {
+    /**
+     * Five separate context keys, copied into MDC around every signal of every operator by a global
+     * Reactor hook. Simple, but costs a full MDC copy/restore per {@code onNext}.
+     */
+    HOOK,
+
+    /**
+     * One {@link com.zeabay.common.context.RequestMetadata} context entry, restored into MDC by
+     * Reactor's automatic context propagation only at thread boundaries. Requires {@code
+     * io.micrometer:context-propagation}; without it {@link #HOOK} is used and a warning logged.
+     */
+    AUTOMATIC
+  }
+}
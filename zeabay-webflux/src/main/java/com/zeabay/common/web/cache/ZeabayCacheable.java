@@ -0,0 +1,37 @@
+package com.zeabay.common.web.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the serialized response of a GET handler method in the shared response cache (Redis, via
+ * {@code zeabay-redis}), keyed by request path and query parameters.
+ *
+ * <p>Only {@code 200} JSON responses are cached. The trace ID in the cached envelope is replaced
+ * with the current request's on every hit. Once an entry is older than {@link #ttlSeconds()}, one
+ * request across all instances recomputes it while others keep receiving the stale copy for up to
+ * {@link #staleSeconds()}.
+ *
+ * <pre>
+ * &#64;GetMapping("/countries")
+ * &#64;ZeabayCacheable(ttlSeconds = 300, staleSeconds = 60)
+ * public Mono&lt;ZeabayApiResponse&lt;List&lt;Country&gt;&gt;&gt; countries() { ... }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ZeabayCacheable {
+
+  /** Time an entry is served without being recomputed. */
+  long ttlSeconds() default 60;
+
+  /** Additional time a stale entry may be served while one request recomputes it. */
+  long staleSeconds() default 0;
+
+  /** Whether entries are kept per authenticated user instead of shared by all callers. */
+  boolean perUser() default false;
+}
@@ -0,0 +1,335 @@
+package com.zeabay.common.web.cache;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.UriUtils;
+
+import com.zeabay.common.cache.CachedResponse;
+import com.zeabay.common.cache.ResponseCacheStore;
+import com.zeabay.common.constant.ZeabayConstants;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves {@link ZeabayCacheable} GET endpoints from a {@link ResponseCacheStore}.
+ *
+ * <p>Annotated handler methods are collected from the {@link RequestMappingHandlerMapping} once at
+ * startup; other requests only pay a match against those few routes. For a cacheable request:
+ *
+ * <ul>
+ *   <li>fresh entry: written directly, with the current trace ID spliced into the body
+ *   <li>stale or missing entry: the request that wins the store's refresh lock runs the handler
+ *       and stores the captured body; concurrent requests get the stale copy, or run the handler
+ *       without storing if there is none
+ * </ul>
+ *
+ * <p>Entries keep the handler's {@code ETag} and {@code Last-Modified}; without an {@code ETag} a
+ * weak one is derived from the body minus the trace ID. Cached copies are revalidated against
+ * {@code If-None-Match}/{@code If-Modified-Since} and answered with {@code 304} when unchanged.
+ *
+ * <p>Must run after Spring Security's filter chain ({@code -100}) so only authorized requests are
+ * answered from the cache; see {@link #ORDER}. Store failures fall back to the handler.
+ */
+@Slf4j
+public class ZeabayResponseCacheWebFilter implements WebFilter, SmartInitializingSingleton {
+
+  /** Filter order: after Spring Security's {@code WebFilterChainProxy}. */
+  public static final int ORDER = 0;
+
+  /** Response header telling whether the body came from the cache. */
+  public static final String CACHE_HEADER = "X-Zeabay-Cache";
+
+  private final RequestMappingHandlerMapping handlerMapping;
+  private final ResponseCacheStore store;
+  private final Duration lockTimeout;
+
+  private final Map<Method, ZeabayCacheable> cacheableMethods = new HashMap<>();
+  private final List<RequestMappingInfo> cacheableRoutes = new ArrayList<>();
+
+  public ZeabayResponseCacheWebFilter(
+      RequestMappingHandlerMapping handlerMapping,
+      ResponseCacheStore store,
+      Duration lockTimeout) {
+    this.handlerMapping = handlerMapping;
+    this.store = store;
+    this.lockTimeout = lockTimeout;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    handlerMapping
+        .getHandlerMethods()
+        .forEach(
+            (info, handlerMethod) -> {
+              ZeabayCacheable cacheable = handlerMethod.getMethodAnnotation(ZeabayCacheable.class);
+              if (cacheable != null) {
+                cacheableMethods.put(handlerMethod.getMethod(), cacheable);
+                cacheableRoutes.add(info);
+              }
+            });
+    if (!cacheableRoutes.isEmpty()) {
+      log.info("Response cache enabled for {} route(s)", cacheableRoutes.size());
+    }
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())
+        || !matchesCacheableRoute(exchange)) {
+      return chain.filter(exchange);
+    }
+    return resolveCacheable(exchange)
+        .flatMap(
+            cacheable ->
+                cacheKey(exchange, cacheable).map(key -> Optional.of(new Lookup(key, cacheable))))
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(
+            lookup ->
+                lookup.isPresent() ? serve(exchange, chain, lookup.get()) : chain.filter(exchange));
+  }
+
+  private boolean matchesCacheableRoute(ServerWebExchange exchange) {
+    for (RequestMappingInfo info : cacheableRoutes) {
+      if (info.getMatchingCondition(exchange) != null) return true;
+    }
+    return false;
+  }
+
+  /** Confirms with the handler mapping that the best match is the annotated method itself. */
+  private Mono<ZeabayCacheable> resolveCacheable(ServerWebExchange exchange) {
+    return handlerMapping
+        .getHandler(exchange)
+        .ofType(HandlerMethod.class)
+        .mapNotNull(handler -> cacheableMethods.get(handler.getMethod()));
+  }
+
+  /**
+   * Raw path plus sorted query parameters, optionally prefixed with the principal. Parameter names,
+   * values and the principal are percent-encoded, so a decoded {@code &}, {@code =} or {@code @} in
+   * them cannot make two different requests share a key.
+   */
+  private Mono<String> cacheKey(ServerWebExchange exchange, ZeabayCacheable cacheable) {
+    ServerHttpRequest request = exchange.getRequest();
+    StringBuilder key = new StringBuilder(request.getPath().pathWithinApplication().value());
+    char separator = '?';
+    for (Map.Entry<String, List<String>> param :
+        new TreeMap<>(request.getQueryParams()).entrySet()) {
+      for (String value : param.getValue()) {
+        key.append(separator).append(encode(param.getKey()));
+        if (value != null) key.append('=').append(encode(value));
+        separator = '&';
+      }
+    }
+    if (!cacheable.perUser()) return Mono.just(key.toString());
+    return exchange
+        .getPrincipal()
+        .map(principal -> encode(principal.getName()))
+        .defaultIfEmpty("anonymous")
+        .map(user -> user + '@' + key);
+  }
+
+  private static String encode(String part) {
+    return UriUtils.encode(part, StandardCharsets.UTF_8);
+  }
+
+  private Mono<Void> serve(ServerWebExchange exchange, WebFilterChain chain, Lookup lookup) {
+    return Mono.fromFuture(() -> store.get(lookup.key()))
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "Response cache lookup failed: key={}, error={}", lookup.key(), e.getMessage());
+              return Mono.empty();
+            })
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(
+            entry -> {
+              if (entry.isPresent() && entry.get().isFresh(System.currentTimeMillis())) {
+                return write(exchange, entry.get(), "HIT");
+              }
+              String token = UUID.randomUUID().toString();
+              return Mono.fromFuture(() -> store.tryLock(lookup.key(), token, lockTimeout))
+                  .onErrorReturn(false)
+                  .flatMap(
+                      locked -> {
+                        if (locked) return compute(exchange, chain, lookup, token);
+                        if (entry.isPresent()) return write(exchange, entry.get(), "STALE");
+                        return chain.filter(exchange);
+                      });
+            });
+  }
+
+  private Mono<Void> write(ServerWebExchange exchange, CachedResponse entry, String outcome) {
+    ServerHttpResponse response = exchange.getResponse();
+    response.getHeaders().set(CACHE_HEADER, outcome);
+    if (notModified(exchange, entry)) {
+      return response.setComplete();
+    }
+
+    String traceId = exchange.getAttribute(ZeabayConstants.TRACE_ID_CTX_KEY);
+    byte[] body = entry.bodyWithTraceId(traceId);
+    response.setStatusCode(HttpStatus.OK);
+    response.getHeaders().setContentType(MediaType.parseMediaType(entry.contentType()));
+    response.getHeaders().setContentLength(body.length);
+    return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+  }
+
+  /**
+   * Evaluates the request's conditional headers against the entry's validators; also sets {@code
+   * ETag}/{@code Last-Modified} on the response, and status {@code 304} when not modified.
+   */
+  private static boolean notModified(ServerWebExchange exchange, CachedResponse entry) {
+    if (entry.lastModified() >= 0) {
+      return exchange.checkNotModified(entry.etag(), Instant.ofEpochMilli(entry.lastModified()));
+    }
+    return entry.etag() != null && exchange.checkNotModified(entry.etag());
+  }
+
+  /**
+   * Runs the handler, capturing a cacheable body on its way to the client. The refresh lock, held
+   * under {@code token}, is released once the exchange completes if nothing was stored.
+   */
+  private Mono<Void> compute(
+      ServerWebExchange exchange, WebFilterChain chain, Lookup lookup, String token) {
+    ServerHttpResponse original = exchange.getResponse();
+    original.getHeaders().set(CACHE_HEADER, "MISS");
+    AtomicBoolean stored = new AtomicBoolean();
+    ServerHttpResponseDecorator capturing =
+        new ServerHttpResponseDecorator(original) {
+          @Override
+          public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            MediaType contentType = getHeaders().getContentType();
+            boolean cacheable =
+                HttpStatus.OK.equals(getStatusCode())
+                    && contentType != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+            if (!cacheable) return super.writeWith(body);
+
+            return DataBufferUtils.join(body)
+                .flatMap(
+                    joined -> {
+                      byte[] bytes = new byte[joined.readableByteCount()];
+                      joined.read(bytes);
+                      DataBufferUtils.release(joined);
+                      CachedResponse entry = toEntry(exchange, lookup, getHeaders(), bytes);
+                      if (getHeaders().getETag() == null) {
+                        getHeaders().setETag(entry.etag());
+                      }
+                      stored.set(true);
+                      store(lookup, entry, token);
+                      return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+          }
+        };
+    return chain
+        .filter(exchange.mutate().response(capturing).build())
+        .doFinally(
+            _ -> {
+              if (!stored.get()) unlock(lookup, token);
+            });
+  }
+
+  private static CachedResponse toEntry(
+      ServerWebExchange exchange, Lookup lookup, HttpHeaders headers, byte[] body) {
+    String traceId = exchange.getAttribute(ZeabayConstants.TRACE_ID_CTX_KEY);
+    int traceIdStart = traceId != null ? lastIndexOfQuoted(body, traceId) : -1;
+    int traceIdEnd = traceIdStart >= 0 ? traceIdStart + traceId.length() : -1;
+    String etag = headers.getETag();
+
+    long now = System.currentTimeMillis();
+    return new CachedResponse(
+        headers.getContentType().toString(),
+        body,
+        traceIdStart,
+        traceIdEnd,
+        etag != null ? etag : weakEtag(body, traceIdStart, traceIdEnd),
+        headers.getLastModified(),
+        now,
+        now + Duration.ofSeconds(lookup.cacheable().ttlSeconds()).toMillis());
+  }
+
+  /** Weak ETag over the body without the per-response trace ID. */
+  private static String weakEtag(byte[] body, int traceIdStart, int traceIdEnd) {
+    CRC32 crc = new CRC32();
+    if (traceIdStart < 0) {
+      crc.update(body);
+    } else {
+      crc.update(body, 0, traceIdStart);
+      crc.update(body, traceIdEnd, body.length - traceIdEnd);
+    }
+    return "W/\"" + Integer.toHexString(body.length) + '-' + Long.toHexString(crc.getValue()) + '"';
+  }
+
+  private void store(Lookup lookup, CachedResponse entry, String token) {
+    ZeabayCacheable cacheable = lookup.cacheable();
+    Duration retention = Duration.ofSeconds(cacheable.ttlSeconds() + cacheable.staleSeconds());
+    Mono.fromFuture(() -> store.put(lookup.key(), entry, retention, token))
+        .subscribe(
+            null,
+            e -> {
+              log.warn(
+                  "Response cache store failed: key={}, error={}", lookup.key(), e.getMessage());
+              unlock(lookup, token);
+            });
+  }
+
+  private void unlock(Lookup lookup, String token) {
+    Mono.fromFuture(() -> store.unlock(lookup.key(), token))
+        .subscribe(
+            null,
+            e ->
+                log.warn(
+                    "Response cache unlock failed: key={}, error={}",
+                    lookup.key(),
+                    e.getMessage()));
+  }
+
+  /**
+   * Returns the offset of the last {@code "value"} occurrence (without the quotes). The envelope
+   * writes {@code traceId} after {@code data}, so the last occurrence is the envelope's.
+   */
+  private static int lastIndexOfQuoted(byte[] body, String value) {
+    byte[] needle = value.getBytes(StandardCharsets.UTF_8);
+    outer:
+    for (int i = body.length - needle.length - 1; i >= 1; i--) {
+      if (body[i - 1] != '"' || body[i + needle.length] != '"') continue;
+      for (int j = 0; j < needle.length; j++) {
+        if (body[i + j] != needle[j]) continue outer;
+      }
+      return i;
+    }
+    return -1;
+  }
+
+  private record Lookup(String key, ZeabayCacheable cacheable) {}
+}
@@ -0,0 +1,118 @@
+package com.zeabay.common.web.client;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Gathers single-key lookups made within a short window into one call of a batch function, in the
+ * manner of DataLoader.
+ *
+ * <p>The first {@link #load} after a dispatch opens a batch; it is dispatched after {@code window}
+ * or as soon as it holds {@code maxBatchSize} distinct keys. Lookups of a key already in the open
+ * batch share its result. Keys missing from the batch function's map complete empty, and a failed
+ * batch fails all of its lookups.
+ *
+ * <pre>
+ * private final BatchLoader&lt;Long, UserDto&gt; users =
+ *     new BatchLoader&lt;&gt;(
+ *         ids -&gt; webClient.post().uri("/users/batch").bodyValue(ids)
+ *             .retrieve().bodyToFlux(UserDto.class)
+ *             .collectMap(UserDto::id),
+ *         Duration.ofMillis(5),
+ *         100);
+ * </pre>
+ *
+ * <p>A batch serves many callers, so it runs without any caller's Reactor context and is not
+ * cancelled when a caller cancels.
+ *
+ * @param <K> the lookup key
+ * @param <V> the looked-up value
+ */
+public final class BatchLoader<K, V> {
+
+  private final Function<? super Set<K>, ? extends Mono<? extends Map<K, V>>> batchFunction;
+  private final Duration window;
+  private final int maxBatchSize;
+
+  private final Object lock = new Object();
+  private Batch<K, V> open; // guarded by lock
+
+  /**
+   * @param batchFunction loads the values of a set of keys
+   * @param window how long a batch collects keys before it is dispatched
+   * @param maxBatchSize the number of distinct keys that dispatches a batch right away
+   */
+  public BatchLoader(
+      Function<? super Set<K>, ? extends Mono<? extends Map<K, V>>> batchFunction,
+      Duration window,
+      int maxBatchSize) {
+    if (maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be positive");
+    this.batchFunction = batchFunction;
+    this.window = window;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /** Looks up {@code key} as part of the next batch; the lookup is queued on subscription. */
+  public Mono<V> load(K key) {
+    return Mono.defer(
+        () -> {
+          Sinks.One<V> sink;
+          Batch<K, V> full = null;
+          synchronized (lock) {
+            if (open == null) {
+              Batch<K, V> batch = new Batch<>();
+              batch.timer = Mono.delay(window).subscribe(tick -> dispatchIfOpen(batch));
+              open = batch;
+            }
+            sink = open.sinks.computeIfAbsent(key, k -> Sinks.one());
+            if (open.sinks.size() >= maxBatchSize) {
+              full = open;
+              open = null;
+            }
+          }
+          if (full != null) {
+            full.timer.dispose();
+            dispatch(full);
+          }
+          return sink.asMono();
+        });
+  }
+
+  private void dispatchIfOpen(Batch<K, V> batch) {
+    synchronized (lock) {
+      if (open != batch) return;
+      open = null;
+    }
+    dispatch(batch);
+  }
+
+  private void dispatch(Batch<K, V> batch) {
+    Mono.defer(() -> batchFunction.apply(Collections.unmodifiableSet(batch.sinks.keySet())))
+        .subscribe(
+            values ->
+                batch.sinks.forEach(
+                    (key, sink) -> {
+                      V value = values.get(key);
+                      if (value != null) {
+                        sink.tryEmitValue(value);
+                      } else {
+                        sink.tryEmitEmpty();
+                      }
+                    }),
+            error -> batch.sinks.values().forEach(sink -> sink.tryEmitError(error)),
+            () -> batch.sinks.values().forEach(Sinks.One::tryEmitEmpty));
+  }
+
+  private static final class Batch<K, V> {
+    private final Map<K, Sinks.One<V>> sinks = new LinkedHashMap<>();
+    private Disposable timer;
+  }
+}
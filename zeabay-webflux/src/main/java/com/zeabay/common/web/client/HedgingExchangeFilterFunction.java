@@ -0,0 +1,107 @@
+package com.zeabay.common.web.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import com.zeabay.common.web.ZeabayWebFluxProperties;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hedges GET requests: if no response has arrived after the host's recent latency percentile
+ * (clamped to {@code min-delay}..{@code max-delay}), the same request is sent again and whichever
+ * response comes first is used. The other attempt is cancelled, or its body released if it had
+ * already answered, so no connection leaks.
+ *
+ * <p>Hedging only starts once a host has {@code min-samples} latencies, and at most {@code
+ * max-hedge-ratio} of requests are hedged, so a host that is slow across the board does not get
+ * twice the load. Must be the innermost filter so both attempts carry the other filters' headers.
+ */
+public class HedgingExchangeFilterFunction implements ExchangeFilterFunction {
+
+  private final ZeabayWebFluxProperties.Client.Hedging properties;
+  private final long minDelayNanos;
+  private final long maxDelayNanos;
+  private final ConcurrentMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder hedges = new LongAdder();
+  private final LongAdder hedgesWon = new LongAdder();
+
+  public HedgingExchangeFilterFunction(ZeabayWebFluxProperties.Client.Hedging properties) {
+    this.properties = properties;
+    this.minDelayNanos = properties.getMinDelay().toNanos();
+    this.maxDelayNanos = properties.getMaxDelay().toNanos();
+  }
+
+  @Override
+  public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+    if (!HttpMethod.GET.equals(request.method())) return next.exchange(request);
+
+    LatencyWindow window = windows.computeIfAbsent(hostKey(request.url()), k -> newWindow());
+    requests.increment();
+    long percentile = window.percentileNanos();
+    if (percentile < 0) return timed(next.exchange(request), window);
+
+    long delay = Math.clamp(percentile, minDelayNanos, maxDelayNanos);
+    Mono<Attempt> primary = timed(next.exchange(request), window).map(r -> new Attempt(r, false));
+    Mono<Attempt> hedge =
+        Mono.delay(Duration.ofNanos(delay))
+            .filter(tick -> tryHedge())
+            .flatMap(tick -> timed(next.exchange(request), window))
+            .map(r -> new Attempt(r, true));
+
+    return Flux.merge(primary, hedge)
+        .next()
+        .doOnNext(
+            attempt -> {
+              if (attempt.hedge()) hedgesWon.increment();
+            })
+        .map(Attempt::response)
+        .doOnDiscard(Attempt.class, attempt -> attempt.response().releaseBody().subscribe());
+  }
+
+  /** Returns how many hedge requests were sent. */
+  public long getHedges() {
+    return hedges.sum();
+  }
+
+  /** Returns how many hedge requests answered before the original one. */
+  public long getHedgesWon() {
+    return hedgesWon.sum();
+  }
+
+  private boolean tryHedge() {
+    if (hedges.sum() >= requests.sum() * properties.getMaxHedgeRatio()) return false;
+    hedges.increment();
+    return true;
+  }
+
+  private static Mono<ClientResponse> timed(Mono<ClientResponse> exchange, LatencyWindow window) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return exchange.doOnNext(response -> window.record(System.nanoTime() - start));
+        });
+  }
+
+  private LatencyWindow newWindow() {
+    return new LatencyWindow(
+        properties.getWindow(), properties.getPercentile(), properties.getMinSamples());
+  }
+
+  private static String hostKey(URI url) {
+    return url.getHost() + ':' + url.getPort();
+  }
+
+  private record Attempt(ClientResponse response, boolean hedge) {}
+}
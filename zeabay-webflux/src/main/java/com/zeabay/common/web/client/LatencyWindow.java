@@ -0,0 +1,50 @@
+package com.zeabay.common.web.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The last {@code size} latencies of one host in a ring buffer, with a latency percentile that is
+ * recomputed every {@value #RECOMPUTE_EVERY} samples rather than per request.
+ */
+final class LatencyWindow {
+
+  private static final int RECOMPUTE_EVERY = 64;
+
+  private final AtomicLongArray samples;
+  private final AtomicLong count = new AtomicLong();
+  private final double percentile;
+  private final int minSamples;
+
+  private volatile long percentileNanos = -1;
+
+  LatencyWindow(int size, double percentile, int minSamples) {
+    this.samples = new AtomicLongArray(size);
+    this.percentile = percentile;
+    this.minSamples = minSamples;
+  }
+
+  void record(long nanos) {
+    long n = count.getAndIncrement() + 1;
+    samples.set((int) ((n - 1) % samples.length()), nanos);
+    if (n % RECOMPUTE_EVERY == 0 && n >= minSamples) recompute(n);
+  }
+
+  /**
+   * @return the latency percentile in nanoseconds, or {@code -1} until enough samples were seen
+   */
+  long percentileNanos() {
+    return percentileNanos;
+  }
+
+  private void recompute(long n) {
+    int size = (int) Math.min(n, samples.length());
+    long[] sorted = new long[size];
+    for (int i = 0; i < size; i++) {
+      sorted[i] = samples.get(i);
+    }
+    Arrays.sort(sorted);
+    percentileNanos = sorted[Math.min(size - 1, (int) (size * percentile))];
+  }
+}
@@ -0,0 +1,57 @@
+package com.zeabay.common.web.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Collapses concurrent identical calls: while a call for a key is in flight, further callers with
+ * the same key subscribe to it instead of starting their own. Nothing is cached once it completes.
+ *
+ * <pre>
+ * private final SingleFlight&lt;Long, UserDto&gt; users = new SingleFlight&lt;&gt;();
+ *
+ * Mono&lt;UserDto&gt; user(long id) {
+ *   return users.execute(id, () -&gt; webClient.get().uri("/users/{id}", id)
+ *       .retrieve().bodyToMono(UserDto.class));
+ * }
+ * </pre>
+ *
+ * <p>Share decoded values, never a {@code ClientResponse}, whose body can only be read once. The
+ * call runs in the Reactor context (trace ID, deadline) of the caller that started it, and is
+ * cancelled only when every caller waiting for it has cancelled.
+ *
+ * @param <K> the key identifying identical calls, e.g. an entity ID or a request URI
+ * @param <V> the call's result
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the in-flight call for {@code key}, or starts {@code call} if there is none. Nothing
+   * happens until subscription.
+   */
+  public Mono<V> execute(K key, Supplier<? extends Mono<V>> call) {
+    return Mono.defer(
+        () -> {
+          Mono<V> existing = inFlight.get(key);
+          if (existing != null) return existing;
+
+          AtomicReference<Mono<V>> self = new AtomicReference<>();
+          Mono<V> shared =
+              Mono.defer(call).doFinally(signal -> inFlight.remove(key, self.get())).share();
+          self.set(shared);
+          Mono<V> raced = inFlight.putIfAbsent(key, shared);
+          return raced != null ? raced : shared;
+        });
+  }
+
+  /** Returns the number of calls currently in flight. */
+  public int inFlight() {
+    return inFlight.size();
+  }
+}
@@ -0,0 +1,28 @@
+package com.zeabay.common.web.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes hedge requests sent ({@code zeabay.webclient.hedges}) and those that answered first
+ * ({@code zeabay.webclient.hedges.won}) by {@link HedgingExchangeFilterFunction}.
+ */
+@RequiredArgsConstructor
+public class WebClientHedgingMetrics implements MeterBinder {
+
+  private final HedgingExchangeFilterFunction hedging;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            "zeabay.webclient.hedges", hedging, HedgingExchangeFilterFunction::getHedges)
+        .description("Hedge requests sent by the shared WebClient")
+        .register(registry);
+    FunctionCounter.builder(
+            "zeabay.webclient.hedges.won", hedging, HedgingExchangeFilterFunction::getHedgesWon)
+        .description("Hedge requests that answered before the original request")
+        .register(registry);
+  }
+}
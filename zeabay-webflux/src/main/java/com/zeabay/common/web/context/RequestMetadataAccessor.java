@@ -0,0 +1,64 @@
+package com.zeabay.common.web.context;
+
+import org.slf4j.MDC;
+
+import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.context.RequestMetadata;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * Bridges the {@link RequestMetadata} Reactor context entry to a thread local and SLF4J MDC.
+ *
+ * <p>With Reactor's automatic context propagation, {@link #setValue(RequestMetadata)} is only
+ * called where a signal crosses into a thread that does not hold the context yet (scheduler hops,
+ * {@code handle}/{@code tap}, blocking bridges), not on every operator, so MDC is written once per
+ * boundary instead of once per signal.
+ */
+public class RequestMetadataAccessor implements ThreadLocalAccessor<RequestMetadata> {
+
+  private static final ThreadLocal<RequestMetadata> CURRENT = new ThreadLocal<>();
+
+  /** Returns the metadata restored on the current thread, or {@code null} if there is none. */
+  public static RequestMetadata current() {
+    return CURRENT.get();
+  }
+
+  @Override
+  public Object key() {
+    return RequestMetadata.CTX_KEY;
+  }
+
+  @Override
+  public RequestMetadata getValue() {
+    return CURRENT.get();
+  }
+
+  @Override
+  public void setValue(RequestMetadata value) {
+    CURRENT.set(value);
+    put(ZeabayConstants.TRACE_ID_CTX_KEY, value.traceId());
+    put(ZeabayConstants.IP_CTX_KEY, value.ip());
+    put(ZeabayConstants.USER_CTX_KEY, value.user());
+    put(ZeabayConstants.METHOD_CTX_KEY, value.method());
+    put(ZeabayConstants.PATH_CTX_KEY, value.path());
+  }
+
+  @Override
+  public void setValue() {
+    CURRENT.remove();
+    MDC.remove(ZeabayConstants.TRACE_ID_CTX_KEY);
+    MDC.remove(ZeabayConstants.IP_CTX_KEY);
+    MDC.remove(ZeabayConstants.USER_CTX_KEY);
+    MDC.remove(ZeabayConstants.METHOD_CTX_KEY);
+    MDC.remove(ZeabayConstants.PATH_CTX_KEY);
+  }
+
+  private static void put(String key, String value) {
+    if (value != null) {
+      MDC.put(key, value);
+    } else {
+      MDC.remove(key);
+    }
+  }
+}
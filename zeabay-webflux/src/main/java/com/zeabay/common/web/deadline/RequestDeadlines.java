@@ -0,0 +1,107 @@
+package com.zeabay.common.web.deadline;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.zeabay.common.api.exception.ErrorCode;
+import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.context.Deadline;
+import com.zeabay.common.web.ZeabayResponses;
+import com.zeabay.common.web.ZeabayWebFluxProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves the {@link Deadline} of incoming requests for {@code ZeabayRequestContextWebFilter}.
+ *
+ * <p>The budget is the shorter of the caller's {@link ZeabayConstants#DEADLINE_HEADER} (capped at
+ * {@code max-timeout}) and the timeout of the first matching route in {@code
+ * zeabay.webflux.deadline.routes}, else {@code default-timeout}. Requests with neither get no
+ * deadline. If it expires before the response has started, the request's subscription is
+ * cancelled, which also cancels R2DBC queries and WebClient calls in flight, and a {@code 504
+ * GATEWAY_TIMEOUT} is answered. Responses already committed by then, such as NDJSON or SSE streams,
+ * run to completion.
+ */
+@Slf4j
+public class RequestDeadlines {
+
+  private final Duration defaultTimeout;
+  private final Duration maxTimeout;
+  private final List<RouteTimeout> routes;
+  private final ObjectMapper objectMapper;
+
+  public RequestDeadlines(ZeabayWebFluxProperties.Deadlines properties, ObjectMapper objectMapper) {
+    this.defaultTimeout = properties.getDefaultTimeout();
+    this.maxTimeout = properties.getMaxTimeout();
+    this.routes =
+        properties.getRoutes().stream()
+            .map(
+                route ->
+                    new RouteTimeout(
+                        PathPatternParser.defaultInstance.parse(route.getPath()),
+                        route.getTimeout()))
+            .toList();
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * @return the request's deadline, or {@code null} if it has none
+   */
+  public Deadline resolve(ServerWebExchange exchange) {
+    Duration timeout = routeTimeout(exchange.getRequest().getPath().pathWithinApplication());
+    Duration requested =
+        parse(exchange.getRequest().getHeaders().getFirst(ZeabayConstants.DEADLINE_HEADER));
+    if (requested != null && (timeout == null || requested.compareTo(timeout) < 0)) {
+      timeout = requested;
+    }
+    return timeout != null ? Deadline.after(timeout) : null;
+  }
+
+  /**
+   * Applies {@code deadline} to the rest of the chain until the response commits; see the class
+   * documentation.
+   */
+  public Mono<Void> enforce(ServerWebExchange exchange, Mono<Void> chain, Deadline deadline) {
+    Mono<Long> expiry =
+        Mono.delay(deadline.remaining())
+            .flatMap(tick -> exchange.getResponse().isCommitted() ? Mono.never() : Mono.just(tick));
+    return chain.timeout(expiry, Mono.defer(() -> expired(exchange)));
+  }
+
+  /** Answers a request whose deadline expired; see the class documentation. */
+  public Mono<Void> expired(ServerWebExchange exchange) {
+    log.debug("Request deadline exceeded: path={}", exchange.getRequest().getPath());
+    if (exchange.getResponse().isCommitted()) return Mono.empty();
+    return ZeabayResponses.writeError(exchange, ErrorCode.GATEWAY_TIMEOUT, objectMapper);
+  }
+
+  private Duration routeTimeout(PathContainer path) {
+    for (RouteTimeout route : routes) {
+      if (route.pattern().matches(path)) return route.timeout();
+    }
+    return defaultTimeout;
+  }
+
+  private Duration parse(String header) {
+    if (header == null) return null;
+    long millis;
+    try {
+      millis = Long.parseLong(header.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    if (millis < 0) return null;
+    Duration requested = Duration.ofMillis(millis);
+    return maxTimeout != null && requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+  }
+
+  private record RouteTimeout(PathPattern pattern, Duration timeout) {}
+}
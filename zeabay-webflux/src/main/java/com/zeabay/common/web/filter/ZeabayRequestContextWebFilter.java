@@ -8,8 +8,12 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 
 import com.zeabay.common.constant.ZeabayConstants;
+import com.zeabay.common.context.Deadline;
+import com.zeabay.common.context.RequestMetadata;
+import com.zeabay.common.web.deadline.RequestDeadlines;
 
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 /**
  * Populates the reactive context with request metadata (IP, method, path) for structured logging
@@ -20,30 +24,81 @@ import reactor.core.publisher.Mono;
  * header). Instead, the authenticated principal name is injected into the context by {@code
  * ZeabaySecurityContextFilter} in the {@code zeabay-security} module after the JWT has been
  * verified, keeping this filter free of a Spring Security dependency.
+ *
+ * <p>In single-entry mode the fields are written as one {@link RequestMetadata} under {@link
+ * RequestMetadata#CTX_KEY}, together with the trace ID from the exchange attributes.
+ *
+ * <p>The logged client IP is the left-most {@code X-Forwarded-For} entry, which the client can
+ * forge: it is for diagnostics only, not for access or rate-limit decisions.
+ *
+ * <p>With {@link RequestDeadlines}, the request's {@link Deadline} is stored under {@link
+ * Deadline#CTX_KEY} and enforced: the rest of the chain is cancelled if it expires before the
+ * response commits.
  */
 public class ZeabayRequestContextWebFilter implements WebFilter {
 
   private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+  private static final String ANONYMOUS = "anonymous";
+
+  private final boolean singleEntry;
+  private final RequestDeadlines deadlines;
+
+  public ZeabayRequestContextWebFilter() {
+    this(false);
+  }
+
+  /**
+   * @param singleEntry whether to write one {@link RequestMetadata} instead of one key per field
+   */
+  public ZeabayRequestContextWebFilter(boolean singleEntry) {
+    this(singleEntry, null);
+  }
+
+  /**
+   * @param singleEntry whether to write one {@link RequestMetadata} instead of one key per field
+   * @param deadlines resolves request deadlines, or {@code null} to not track any
+   */
+  public ZeabayRequestContextWebFilter(boolean singleEntry, RequestDeadlines deadlines) {
+    this.singleEntry = singleEntry;
+    this.deadlines = deadlines;
+  }
 
   @Override
   public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
     ServerHttpRequest request = exchange.getRequest();
-    String ip = getClientIp(request);
+    String ip = resolveClientIp(request);
     String method = request.getMethod().name();
     String path = request.getURI().getPath();
 
-    return chain
-        .filter(exchange)
-        .contextWrite(
-            ctx ->
+    Deadline deadline = deadlines != null ? deadlines.resolve(exchange) : null;
+    Mono<Void> result = chain.filter(exchange);
+    if (deadline != null) {
+      result = deadlines.enforce(exchange, result, deadline);
+    }
+
+    if (singleEntry) {
+      String traceId = exchange.getAttribute(ZeabayConstants.TRACE_ID_CTX_KEY);
+      RequestMetadata metadata = new RequestMetadata(traceId, ip, ANONYMOUS, method, path);
+      return result.contextWrite(
+          ctx -> withDeadline(ctx.put(RequestMetadata.CTX_KEY, metadata), deadline));
+    }
+
+    return result.contextWrite(
+        ctx ->
+            withDeadline(
                 ctx.put(ZeabayConstants.IP_CTX_KEY, ip)
                     .put(
-                        ZeabayConstants.USER_CTX_KEY, "anonymous") // overwritten by security filter
+                        ZeabayConstants.USER_CTX_KEY, ANONYMOUS) // overwritten by security filter
                     .put(ZeabayConstants.METHOD_CTX_KEY, method)
-                    .put(ZeabayConstants.PATH_CTX_KEY, path));
+                    .put(ZeabayConstants.PATH_CTX_KEY, path),
+                deadline));
+  }
+
+  private static Context withDeadline(Context ctx, Deadline deadline) {
+    return deadline != null ? ctx.put(Deadline.CTX_KEY, deadline) : ctx;
   }
 
-  private String getClientIp(ServerHttpRequest request) {
+  private static String resolveClientIp(ServerHttpRequest request) {
     String xForwardedFor = request.getHeaders().getFirst(X_FORWARDED_FOR);
     if (xForwardedFor != null && !xForwardedFor.isBlank()) {
       return xForwardedFor.split(",")[0].trim();
@@ -0,0 +1,151 @@
+package com.zeabay.common.web.limit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zeabay.common.web.ZeabayWebFluxProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limits concurrent requests to a limit sized from observed latency with the gradient algorithm
+ * of Netflix's {@code Gradient2Limit}.
+ *
+ * <p>Latencies are averaged per sampling window. Once per window, the window average (short-term
+ * RTT) is compared with an exponential moving average over {@code long-window} windows (long-term
+ * RTT): while they agree within {@code rtt-tolerance} the limit grows by its square root, and when
+ * latency rises because requests start queueing the limit shrinks proportionally, by at most half.
+ * Windows in which less than half of the limit was used do not move it, since latency then says
+ * nothing about capacity.
+ *
+ * <p>{@link #tryAcquire} and {@link #release} are lock-free; only the once-per-window update is
+ * synchronized.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double smoothing;
+  private final double rttTolerance;
+  private final double longRttFactor;
+  private final long windowNanos;
+  private final int minSamples;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger peakInFlight = new AtomicInteger();
+  private final LongAdder rttSum = new LongAdder();
+  private final LongAdder samples = new LongAdder();
+  private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+  private final Map<RequestPriority, LongAdder> rejected = new EnumMap<>(RequestPriority.class);
+
+  private volatile int limit;
+  private double estimatedLimit;
+  private double longRtt;
+
+  public AdaptiveConcurrencyLimiter(ZeabayWebFluxProperties.ConcurrencyLimit properties) {
+    this.minLimit = properties.getMinLimit();
+    this.maxLimit = properties.getMaxLimit();
+    this.smoothing = properties.getSmoothing();
+    this.rttTolerance = properties.getRttTolerance();
+    this.longRttFactor = 2.0 / (properties.getLongWindow() + 1);
+    this.windowNanos = properties.getWindow().toNanos();
+    this.minSamples = properties.getMinWindowSamples();
+    this.estimatedLimit =
+        Math.clamp(properties.getInitialLimit(), (double) minLimit, (double) maxLimit);
+    this.limit = (int) estimatedLimit;
+    for (RequestPriority priority : RequestPriority.values()) {
+      rejected.put(priority, new LongAdder());
+    }
+  }
+
+  /**
+   * Admits a request if the in-flight requests stay within the share of the limit allowed for
+   * {@code priority}. Every admitted request must be {@linkplain #release released}.
+   *
+   * @return {@code false} if the request should be shed
+   */
+  public boolean tryAcquire(RequestPriority priority) {
+    int current = inFlight.incrementAndGet();
+    if (current > priority.allowed(limit)) {
+      inFlight.decrementAndGet();
+      rejected.get(priority).increment();
+      return false;
+    }
+    if (current > peakInFlight.get()) peakInFlight.accumulateAndGet(current, Math::max);
+    return true;
+  }
+
+  /**
+   * Releases an admitted request.
+   *
+   * @param rttNanos how long the request took
+   * @param sample whether the latency is meaningful, i.e. the request was not cancelled
+   */
+  public void release(long rttNanos, boolean sample) {
+    inFlight.decrementAndGet();
+    if (!sample) return;
+    rttSum.add(rttNanos);
+    samples.increment();
+
+    long now = System.nanoTime();
+    long start = windowStart.get();
+    if (now - start < windowNanos || !windowStart.compareAndSet(start, now)) return;
+
+    long count = samples.sumThenReset();
+    long sum = rttSum.sumThenReset();
+    if (count < minSamples) {
+      // Too few requests to judge; carry them over into the next window.
+      samples.add(count);
+      rttSum.add(sum);
+      return;
+    }
+    update((double) sum / count, peakInFlight.getAndSet(inFlight.get()));
+  }
+
+  private synchronized void update(double shortRtt, int peak) {
+    if (longRtt == 0) {
+      longRtt = shortRtt;
+    } else {
+      longRtt += (shortRtt - longRtt) * longRttFactor;
+    }
+    // After a sustained latency increase has passed, let the baseline recover quickly.
+    if (longRtt / shortRtt > 2) longRtt *= 0.95;
+
+    if (peak < estimatedLimit / 2) return;
+
+    double gradient = Math.clamp(rttTolerance * longRtt / shortRtt, 0.5, 1.0);
+    double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    double smoothed = estimatedLimit * (1 - smoothing) + target * smoothing;
+    estimatedLimit = Math.clamp(smoothed, (double) minLimit, (double) maxLimit);
+
+    int previous = limit;
+    limit = (int) estimatedLimit;
+    if (limit != previous) {
+      log.debug(
+          "Concurrency limit {} -> {} (shortRtt={}ms, longRtt={}ms)",
+          previous,
+          limit,
+          Math.round(shortRtt / 1e6),
+          Math.round(longRtt / 1e6));
+    }
+  }
+
+  /** Returns the current concurrency limit. */
+  public int getLimit() {
+    return limit;
+  }
+
+  /** Returns the number of admitted requests that have not completed yet. */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /** Returns how many requests of {@code priority} were shed so far. */
+  public long getRejected(RequestPriority priority) {
+    return rejected.get(priority).sum();
+  }
+}
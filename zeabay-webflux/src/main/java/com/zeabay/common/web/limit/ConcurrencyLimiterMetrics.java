@@ -0,0 +1,40 @@
+package com.zeabay.common.web.limit;
+
+import java.util.Locale;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes the {@link AdaptiveConcurrencyLimiter}'s current limit ({@code
+ * zeabay.webflux.concurrency.limit}), in-flight requests ({@code
+ * zeabay.webflux.concurrency.inflight}) and shed requests per priority ({@code
+ * zeabay.webflux.concurrency.rejected}).
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(
+            "zeabay.webflux.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current adaptive concurrency limit")
+        .register(registry);
+    Gauge.builder(
+            "zeabay.webflux.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+        .description("Requests admitted by the concurrency limiter and not yet completed")
+        .register(registry);
+    for (RequestPriority priority : RequestPriority.values()) {
+      FunctionCounter.builder(
+              "zeabay.webflux.concurrency.rejected", limiter, l -> l.getRejected(priority))
+          .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+          .description("Requests shed by the concurrency limiter")
+          .register(registry);
+    }
+  }
+}
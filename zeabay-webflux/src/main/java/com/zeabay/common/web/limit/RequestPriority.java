@@ -0,0 +1,29 @@
+package com.zeabay.common.web.limit;
+
+/**
+ * Priority of a route under {@link AdaptiveConcurrencyLimiter}: the share of the concurrency limit
+ * its requests may occupy. As in-flight requests approach the limit, lower priorities are shed
+ * first, keeping headroom for more important traffic.
+ */
+public enum RequestPriority {
+
+  /** May use the whole limit. */
+  CRITICAL(1.0),
+
+  /** May use 90% of the limit; the default. */
+  NORMAL(0.9),
+
+  /** May use half of the limit, e.g. reports and exports. */
+  LOW(0.5);
+
+  private final double share;
+
+  RequestPriority(double share) {
+    this.share = share;
+  }
+
+  /** Returns how many in-flight requests this priority may occupy under {@code limit}. */
+  int allowed(int limit) {
+    return Math.max(1, (int) (limit * share));
+  }
+}
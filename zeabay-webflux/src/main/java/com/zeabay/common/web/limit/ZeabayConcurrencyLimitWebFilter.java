@@ -0,0 +1,90 @@
+package com.zeabay.common.web.limit;
+
+import java.util.List;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.zeabay.common.api.exception.ErrorCode;
+import com.zeabay.common.web.ZeabayResponses;
+import com.zeabay.common.web.ZeabayWebFluxProperties;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Sheds requests beyond the {@link AdaptiveConcurrencyLimiter}'s limit with {@code 503
+ * SERVICE_UNAVAILABLE} and {@code Retry-After: 1}, instead of letting them queue on the R2DBC pool
+ * or WebClient until everything times out.
+ *
+ * <p>Runs right after the trace ID and request context filters, so shed requests cost neither
+ * authentication nor handler work. Routes get a {@link RequestPriority} from {@code
+ * zeabay.webflux.concurrency-limit.priorities} (first match, else {@code NORMAL}); excluded paths
+ * (actuator by default) are neither limited nor sampled. Long-lived streams should be excluded too,
+ * as their duration would be mistaken for latency.
+ */
+public class ZeabayConcurrencyLimitWebFilter implements WebFilter {
+
+  /** Filter order: after the trace ID and request context filters. */
+  public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final ObjectMapper objectMapper;
+  private final List<PathPattern> excluded;
+  private final List<RoutePriority> priorities;
+
+  public ZeabayConcurrencyLimitWebFilter(
+      AdaptiveConcurrencyLimiter limiter,
+      ZeabayWebFluxProperties.ConcurrencyLimit properties,
+      ObjectMapper objectMapper) {
+    this.limiter = limiter;
+    this.objectMapper = objectMapper;
+    this.excluded =
+        properties.getExcludePaths().stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+    this.priorities =
+        properties.getPriorities().stream()
+            .map(
+                route ->
+                    new RoutePriority(
+                        PathPatternParser.defaultInstance.parse(route.getPath()),
+                        route.getPriority()))
+            .toList();
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+    for (PathPattern pattern : excluded) {
+      if (pattern.matches(path)) return chain.filter(exchange);
+    }
+
+    if (!limiter.tryAcquire(priority(path))) {
+      exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+      return ZeabayResponses.writeError(exchange, ErrorCode.SERVICE_UNAVAILABLE, objectMapper);
+    }
+    long start = System.nanoTime();
+    return chain
+        .filter(exchange)
+        .doFinally(
+            signal -> limiter.release(System.nanoTime() - start, signal != SignalType.CANCEL));
+  }
+
+  private RequestPriority priority(PathContainer path) {
+    for (RoutePriority route : priorities) {
+      if (route.pattern().matches(path)) return route.priority();
+    }
+    return RequestPriority.NORMAL;
+  }
+
+  private record RoutePriority(PathPattern pattern, RequestPriority priority) {}
+}